@@ -1,15 +1,23 @@
 package com.foongdoll.server.ledger.controller;
 
 import com.foongdoll.server.common.response.ApiResponse;
+import com.foongdoll.server.ledger.domain.LedgerRollupPeriod;
 import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.ledger.service.LedgerExportService;
+import com.foongdoll.server.ledger.service.LedgerImportService;
 import com.foongdoll.server.ledger.service.LedgerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,6 +28,8 @@ import java.util.List;
 public class LedgerController {
 
     private final LedgerService ledgerService;
+    private final LedgerImportService ledgerImportService;
+    private final LedgerExportService ledgerExportService;
 
     @GetMapping("/categories")
     public ResponseEntity<ApiResponse<List<LedgerDtos.CategoryResponse>>> getCategories() {
@@ -61,6 +71,30 @@ public class LedgerController {
         return ResponseEntity.ok(ApiResponse.success(ledgerService.createTransaction(request)));
     }
 
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Valid LedgerDtos.TransactionSearchRequest request,
+            @RequestParam(defaultValue = "CSV") LedgerExportService.ExportFormat format
+    ) {
+        boolean csv = format == LedgerExportService.ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"ledger." + (csv ? "csv" : "ndjson") + "\"")
+                .body(ledgerExportService.export(request, format));
+    }
+
+    @PostMapping(value = "/transactions/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<LedgerDtos.ImportResponse>> importTransactions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) LedgerImportService.ImportFormat format,
+            @RequestParam(required = false) Long categoryId
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(ledgerImportService.importTransactions(file, format, categoryId)));
+    }
+
     @PutMapping("/transactions/{id}")
     public ResponseEntity<ApiResponse<LedgerDtos.TransactionResponse>> updateTransaction(
             @PathVariable Long id,
@@ -83,4 +117,14 @@ public class LedgerController {
     ) {
         return ResponseEntity.ok(ApiResponse.success(ledgerService.getOverview(startDate, endDate, categoryId)));
     }
+
+    @GetMapping("/trend")
+    public ResponseEntity<ApiResponse<List<LedgerDtos.PeriodSummary>>> getTrend(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "MONTH") LedgerRollupPeriod unit
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(ledgerService.getTrend(startDate, endDate, categoryId, unit)));
+    }
 }
@@ -14,7 +14,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "ledger_categories")
+@Table(
+        name = "ledger_categories",
+        indexes = @Index(name = "ix_ledger_category_owner", columnList = "owner_id, name")
+)
 @Getter
 @Setter
 @Builder
@@ -26,6 +29,9 @@ public class LedgerCategory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "owner_id", nullable = false, length = 50, updatable = false)
+    private String ownerId;
+
     @Column(nullable = false, length = 80)
     private String name;
 
@@ -0,0 +1,54 @@
+package com.foongdoll.server.ledger.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 일별 · 카테고리별 · 수입/지출별 거래 합계 (거래 저장/수정/삭제 시 증감)
+ * - 카테고리가 소유자별이므로 유니크 키는 그대로, owner_id는 소유자 기간 조회용
+ */
+@Entity
+@Table(
+        name = "ledger_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_daily_rollup",
+                columnNames = {"rollup_date", "category_id", "flow_type"}
+        ),
+        indexes = @Index(name = "ix_ledger_daily_rollup_owner", columnList = "owner_id, rollup_date")
+)
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LedgerDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false, length = 50)
+    private String ownerId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flow_type", nullable = false, length = 16)
+    private LedgerFlowType flowType;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+}
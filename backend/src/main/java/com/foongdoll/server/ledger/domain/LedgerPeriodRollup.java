@@ -0,0 +1,59 @@
+package com.foongdoll.server.ledger.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 월/연 단위 거래 합계 (일별 롤업과 같은 시점에 증감)
+ * - period_start: MONTH면 그 달 1일, YEAR면 1월 1일
+ * - owner_id는 일별 롤업과 같이 소유자 기간 조회용
+ */
+@Entity
+@Table(
+        name = "ledger_period_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_ledger_period_rollup",
+                columnNames = {"period", "period_start", "category_id", "flow_type"}
+        ),
+        indexes = @Index(name = "ix_ledger_period_rollup_owner", columnList = "owner_id, period, period_start")
+)
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LedgerPeriodRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false, length = 50)
+    private String ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private LedgerRollupPeriod period;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flow_type", nullable = false, length = 16)
+    private LedgerFlowType flowType;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+}
@@ -0,0 +1,7 @@
+package com.foongdoll.server.ledger.domain;
+
+public enum LedgerRollupPeriod {
+    DAY,
+    MONTH,
+    YEAR
+}
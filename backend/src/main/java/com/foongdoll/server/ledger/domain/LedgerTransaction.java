@@ -19,9 +19,10 @@ import java.util.Map;
 @Table(
         name = "ledger_transactions",
         indexes = {
-                @Index(name = "ix_ledger_tx_date", columnList = "transaction_date"),
+                @Index(name = "ix_ledger_tx_owner_date", columnList = "owner_id, transaction_date, id"),
                 @Index(name = "ix_ledger_tx_category", columnList = "category_id"),
-                @Index(name = "ix_ledger_tx_flow", columnList = "flow_type")
+                @Index(name = "ix_ledger_tx_flow", columnList = "flow_type"),
+                @Index(name = "ux_ledger_tx_import_hash", columnList = "import_hash", unique = true)
         }
 )
 @Getter
@@ -35,6 +36,10 @@ public class LedgerTransaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** 소유자 (로그인 사용자 nickname, 노트와 같은 기준) */
+    @Column(name = "owner_id", nullable = false, length = 50, updatable = false)
+    private String ownerId;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "category_id")
     private LedgerCategory category;
@@ -55,6 +60,10 @@ public class LedgerTransaction {
     @Column(length = 80)
     private String wallet;
 
+    /** 파일 가져오기로 만든 거래의 내용 해시 (같은 파일/겹치는 명세서를 다시 가져올 때 중복 제외) */
+    @Column(name = "import_hash", length = 64, updatable = false)
+    private String importHash;
+
     @Convert(converter = LedgerMetadataConverter.class)
     @Column(name = "metadata_json", columnDefinition = "LONGTEXT")
     @Builder.Default
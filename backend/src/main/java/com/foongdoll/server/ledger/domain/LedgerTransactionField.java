@@ -0,0 +1,56 @@
+package com.foongdoll.server.ledger.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 거래 metadata 검색용 색인 (거래 · 항목 키당 한 행)
+ * - 카테고리 필드 타입에 맞는 컬럼에 값을 넣음: NUMBER/DECIMAL → num_value, DATE → date_value
+ * - text_value에는 모든 타입의 문자열 값을 넣어 일치 검색에 사용
+ * - (field_key, 값) 인덱스로 "항목 X가 범위 안인 거래"를 metadata_json 없이 찾음
+ */
+@Entity
+@Table(
+        name = "ledger_tx_field",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_tx_field", columnNames = {"tx_id", "field_key"}),
+        indexes = {
+                @Index(name = "ix_ledger_tx_field_num", columnList = "field_key, num_value, tx_id"),
+                @Index(name = "ix_ledger_tx_field_date", columnList = "field_key, date_value, tx_id"),
+                @Index(name = "ix_ledger_tx_field_text", columnList = "field_key, text_value, tx_id")
+        }
+)
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LedgerTransactionField {
+
+    public static final int MAX_KEY_LENGTH = 100;
+    public static final int MAX_TEXT_LENGTH = 191;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tx_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "field_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String fieldKey;
+
+    @Column(name = "num_value", precision = 24, scale = 6)
+    private BigDecimal numValue;
+
+    @Column(name = "date_value")
+    private LocalDate dateValue;
+
+    @Column(name = "text_value", length = MAX_TEXT_LENGTH)
+    private String textValue;
+}
@@ -125,7 +125,10 @@ public class LedgerDtos {
         DATE_DESC,
         DATE_ASC,
         AMOUNT_DESC,
-        AMOUNT_ASC
+        AMOUNT_ASC,
+        /** fieldKey 항목 값 기준 */
+        FIELD_DESC,
+        FIELD_ASC
     }
 
     @Getter
@@ -145,6 +148,18 @@ public class LedgerDtos {
         @Max(100)
         private int size = 20;
         private LedgerTransactionSort sort = LedgerTransactionSort.DATE_DESC;
+        /** 카테고리 사용자 정의 항목 키 (fieldMin/fieldMax/fieldValue, FIELD_* 정렬에 사용) */
+        @Size(max = 100)
+        private String fieldKey;
+        /** 항목 값 하한 (포함, 숫자 또는 yyyy-MM-dd) */
+        @Size(max = 100)
+        private String fieldMin;
+        /** 항목 값 상한 (포함) */
+        @Size(max = 100)
+        private String fieldMax;
+        /** 항목 값 일치 */
+        @Size(max = 191)
+        private String fieldValue;
     }
 
     @Getter
@@ -180,4 +195,26 @@ public class LedgerDtos {
         private BigDecimal income;
         private BigDecimal expense;
     }
+
+    @Getter
+    @Setter
+    @Builder
+    public static class PeriodSummary {
+        private LocalDate periodStart;
+        private BigDecimal income;
+        private BigDecimal expense;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    public static class ImportResponse {
+        private int imported;
+        private int duplicates;   // 이미 가져온 행 (import_hash 일치)
+        private int failed;
+        @Builder.Default
+        private List<String> errors = new ArrayList<>(); // "12행: ..." (최대 100개)
+        private long elapsedMillis;
+        private double rowsPerSecond;
+    }
 }
@@ -0,0 +1,104 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerTransactionField;
+import com.foongdoll.server.ledger.domain.converter.LedgerMetadataConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 대량 가져오기 전용 JDBC 배치 쓰기
+ * - IDENTITY 키라 JPA saveAll은 행마다 INSERT → 여기서는 batchUpdate 한 번에 묶음
+ *   (MySQL은 rewriteBatchedStatements=true 일 때 다중 VALUES 한 문장으로 전송)
+ * - 생성된 id는 import_hash로 다시 조회
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerBulkRepository {
+
+    private static final LedgerMetadataConverter METADATA_CONVERTER = new LedgerMetadataConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public record NewTransaction(String ownerId, Long categoryId, LedgerFlowType flowType, LocalDate transactionDate,
+                                 BigDecimal amount, String memo, String wallet,
+                                 Map<String, Object> metadata, String importHash) {
+    }
+
+    public Set<String> findExistingImportHashes(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT import_hash FROM ledger_transactions WHERE import_hash IN (:hashes)",
+                new MapSqlParameterSource("hashes", hashes), String.class));
+    }
+
+    public Map<String, Long> findIdsByImportHash(Collection<String> hashes) {
+        Map<String, Long> ids = new HashMap<>();
+        if (hashes.isEmpty()) {
+            return ids;
+        }
+        namedJdbcTemplate.query(
+                "SELECT id, import_hash FROM ledger_transactions WHERE import_hash IN (:hashes)",
+                new MapSqlParameterSource("hashes", hashes),
+                rs -> {
+                    ids.put(rs.getString("import_hash"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public void insertTransactions(List<NewTransaction> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO ledger_transactions
+                    (owner_id, category_id, flow_type, transaction_date, amount, memo, wallet,
+                     metadata_json, import_hash, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.ownerId());
+            ps.setLong(2, row.categoryId());
+            ps.setString(3, row.flowType().name());
+            ps.setDate(4, Date.valueOf(row.transactionDate()));
+            ps.setBigDecimal(5, row.amount());
+            ps.setString(6, row.memo());
+            ps.setString(7, row.wallet());
+            ps.setString(8, METADATA_CONVERTER.convertToDatabaseColumn(row.metadata()));
+            ps.setString(9, row.importHash());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+    }
+
+    public void insertFields(List<LedgerTransactionField> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO ledger_tx_field (tx_id, field_key, num_value, date_value, text_value)
+                VALUES (?, ?, ?, ?, ?)
+                """, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.getTransactionId());
+            ps.setString(2, row.getFieldKey());
+            ps.setBigDecimal(3, row.getNumValue());
+            if (row.getDateValue() != null) {
+                ps.setDate(4, Date.valueOf(row.getDateValue()));
+            } else {
+                ps.setNull(4, Types.DATE);
+            }
+            ps.setString(5, row.getTextValue());
+        });
+    }
+}
@@ -1,7 +1,15 @@
 package com.foongdoll.server.ledger.repository;
 
 import com.foongdoll.server.ledger.domain.LedgerCategory;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface LedgerCategoryRepository extends JpaRepository<LedgerCategory, Long> {
+
+    List<LedgerCategory> findAllByOwnerId(String ownerId, Sort sort);
+
+    Optional<LedgerCategory> findByIdAndOwnerId(Long id, String ownerId);
 }
@@ -0,0 +1,112 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerDailyRollup;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LedgerDailyRollupRepository extends JpaRepository<LedgerDailyRollup, Long> {
+
+    List<LedgerDailyRollup> findByOwnerIdAndDateBetween(String ownerId, LocalDate start, LocalDate end);
+
+    List<LedgerDailyRollup> findByOwnerIdAndCategoryIdAndDateBetween(String ownerId, Long categoryId,
+                                                                      LocalDate start, LocalDate end);
+
+    /** 날짜 · 수입/지출별 합계 (카테고리 합산) */
+    @Query("""
+            select r.date as date, r.flowType as flowType, sum(r.total) as total
+              from LedgerDailyRollup r
+             where r.ownerId = :ownerId
+               and r.date between :start and :end
+               and (:categoryId is null or r.categoryId = :categoryId)
+             group by r.date, r.flowType
+            """)
+    List<DailyFlowTotal> sumByDate(@Param("ownerId") String ownerId,
+                                   @Param("start") LocalDate start,
+                                   @Param("end") LocalDate end,
+                                   @Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_daily_rollup (owner_id, rollup_date, category_id, flow_type, total, tx_count)
+            VALUES (:ownerId, :date, :categoryId, :flowType, :amount, :count) AS new
+            ON DUPLICATE KEY UPDATE total = total + new.total, tx_count = tx_count + new.tx_count
+            """, nativeQuery = true)
+    int addDelta(@Param("ownerId") String ownerId,
+                 @Param("date") LocalDate date,
+                 @Param("categoryId") Long categoryId,
+                 @Param("flowType") String flowType,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") long count);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM ledger_daily_rollup
+             WHERE rollup_date = :date AND category_id = :categoryId AND flow_type = :flowType AND tx_count <= 0
+            """, nativeQuery = true)
+    int deleteIfEmpty(@Param("date") LocalDate date,
+                      @Param("categoryId") Long categoryId,
+                      @Param("flowType") String flowType);
+
+    /** 롤업을 다시 계산할 소유자 (거래 또는 롤업 행이 있는 사용자) */
+    @Query(value = """
+            SELECT owner_id FROM ledger_transactions
+            UNION
+            SELECT owner_id FROM ledger_daily_rollup
+            """, nativeQuery = true)
+    List<String> findRollupOwners();
+
+    /** 소유자의 거래 또는 일별 롤업이 있는 연도 (재계산 구간) */
+    @Query(value = """
+            SELECT YEAR(transaction_date) FROM ledger_transactions WHERE owner_id = :ownerId
+            UNION
+            SELECT YEAR(rollup_date) FROM ledger_daily_rollup WHERE owner_id = :ownerId
+            """, nativeQuery = true)
+    List<Number> findRollupYears(@Param("ownerId") String ownerId);
+
+    /**
+     * 재계산 구간의 거래 행 잠금 (SELECT ... FOR UPDATE, (owner_id, transaction_date, id) 인덱스 범위)
+     * - 재계산이 끝날 때까지 같은 구간의 거래 저장/수정/삭제와 그 롤업 증감이 대기 → 증감이 빠지거나 두 번 더해지지 않음
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM ledger_transactions
+             WHERE owner_id = :ownerId AND transaction_date BETWEEN :start AND :end
+               FOR UPDATE
+            """, nativeQuery = true)
+    long lockTransactions(@Param("ownerId") String ownerId,
+                          @Param("start") LocalDate start,
+                          @Param("end") LocalDate end);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM ledger_daily_rollup
+             WHERE owner_id = :ownerId AND rollup_date BETWEEN :start AND :end
+            """, nativeQuery = true)
+    int deleteByOwnerBetween(@Param("ownerId") String ownerId,
+                             @Param("start") LocalDate start,
+                             @Param("end") LocalDate end);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_daily_rollup (owner_id, rollup_date, category_id, flow_type, total, tx_count)
+            SELECT owner_id, transaction_date, category_id, flow_type, SUM(amount), COUNT(*)
+              FROM ledger_transactions
+             WHERE owner_id = :ownerId AND transaction_date BETWEEN :start AND :end
+             GROUP BY owner_id, transaction_date, category_id, flow_type
+            """, nativeQuery = true)
+    int insertFromTransactions(@Param("ownerId") String ownerId,
+                               @Param("start") LocalDate start,
+                               @Param("end") LocalDate end);
+
+    interface DailyFlowTotal {
+        LocalDate getDate();
+        LedgerFlowType getFlowType();
+        BigDecimal getTotal();
+    }
+}
@@ -0,0 +1,94 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerPeriodRollup;
+import com.foongdoll.server.ledger.domain.LedgerRollupPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LedgerPeriodRollupRepository extends JpaRepository<LedgerPeriodRollup, Long> {
+
+    List<LedgerPeriodRollup> findByOwnerIdAndPeriodAndPeriodStartBetween(String ownerId, LedgerRollupPeriod period,
+                                                                          LocalDate from, LocalDate to);
+
+    List<LedgerPeriodRollup> findByOwnerIdAndPeriodAndCategoryIdAndPeriodStartBetween(
+            String ownerId, LedgerRollupPeriod period, Long categoryId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_period_rollup (owner_id, period, period_start, category_id, flow_type, total, tx_count)
+            VALUES (:ownerId, :period, :periodStart, :categoryId, :flowType, :amount, :count) AS new
+            ON DUPLICATE KEY UPDATE total = total + new.total, tx_count = tx_count + new.tx_count
+            """, nativeQuery = true)
+    int addDelta(@Param("ownerId") String ownerId,
+                 @Param("period") String period,
+                 @Param("periodStart") LocalDate periodStart,
+                 @Param("categoryId") Long categoryId,
+                 @Param("flowType") String flowType,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") long count);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM ledger_period_rollup
+             WHERE period = :period AND period_start = :periodStart
+               AND category_id = :categoryId AND flow_type = :flowType AND tx_count <= 0
+            """, nativeQuery = true)
+    int deleteIfEmpty(@Param("period") String period,
+                      @Param("periodStart") LocalDate periodStart,
+                      @Param("categoryId") Long categoryId,
+                      @Param("flowType") String flowType);
+
+    /** 롤업을 다시 계산할 때 일별 롤업에 없는 사용자의 남은 행도 정리하기 위한 소유자 목록 */
+    @Query(value = "SELECT DISTINCT owner_id FROM ledger_period_rollup", nativeQuery = true)
+    List<String> findRollupOwners();
+
+    @Query(value = """
+            SELECT DISTINCT YEAR(period_start) FROM ledger_period_rollup WHERE owner_id = :ownerId
+            """, nativeQuery = true)
+    List<Number> findRollupYears(@Param("ownerId") String ownerId);
+
+    /** [start, end] 안에서 시작하는 월/연 행 (start/end는 연도 경계) */
+    @Modifying
+    @Query(value = """
+            DELETE FROM ledger_period_rollup
+             WHERE owner_id = :ownerId AND period_start BETWEEN :start AND :end
+            """, nativeQuery = true)
+    int deleteByOwnerBetween(@Param("ownerId") String ownerId,
+                             @Param("start") LocalDate start,
+                             @Param("end") LocalDate end);
+
+    /** 일별 롤업에서 월 합계 생성 */
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_period_rollup (owner_id, period, period_start, category_id, flow_type, total, tx_count)
+            SELECT owner_id, 'MONTH', DATE_SUB(rollup_date, INTERVAL DAYOFMONTH(rollup_date) - 1 DAY),
+                   category_id, flow_type, SUM(total), SUM(tx_count)
+              FROM ledger_daily_rollup
+             WHERE owner_id = :ownerId AND rollup_date BETWEEN :start AND :end
+             GROUP BY owner_id, DATE_SUB(rollup_date, INTERVAL DAYOFMONTH(rollup_date) - 1 DAY),
+                      category_id, flow_type
+            """, nativeQuery = true)
+    int insertMonthsFromDaily(@Param("ownerId") String ownerId,
+                              @Param("start") LocalDate start,
+                              @Param("end") LocalDate end);
+
+    /** 월 합계에서 연 합계 생성 (insertMonthsFromDaily 이후 호출) */
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_period_rollup (owner_id, period, period_start, category_id, flow_type, total, tx_count)
+            SELECT owner_id, 'YEAR', MAKEDATE(YEAR(period_start), 1), category_id, flow_type,
+                   SUM(total), SUM(tx_count)
+              FROM ledger_period_rollup
+             WHERE owner_id = :ownerId AND period = 'MONTH' AND period_start BETWEEN :start AND :end
+             GROUP BY owner_id, MAKEDATE(YEAR(period_start), 1), category_id, flow_type
+            """, nativeQuery = true)
+    int insertYearsFromMonths(@Param("ownerId") String ownerId,
+                              @Param("start") LocalDate start,
+                              @Param("end") LocalDate end);
+}
@@ -0,0 +1,20 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerTransactionField;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface LedgerTransactionFieldRepository extends JpaRepository<LedgerTransactionField, Long> {
+
+    @Modifying
+    @Query("delete from LedgerTransactionField f where f.transactionId = :transactionId")
+    int deleteByTransactionId(@Param("transactionId") Long transactionId);
+
+    @Modifying
+    @Query("delete from LedgerTransactionField f where f.transactionId in :transactionIds")
+    int deleteByTransactionIdIn(@Param("transactionIds") Collection<Long> transactionIds);
+}
@@ -1,21 +1,47 @@
 package com.foongdoll.server.ledger.repository;
 
 import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
-
-public interface LedgerTransactionRepository extends JpaRepository<LedgerTransaction, Long>, JpaSpecificationExecutor<LedgerTransaction> {
-
-    List<LedgerTransaction> findByTransactionDateBetween(LocalDate start, LocalDate end);
-
-    List<LedgerTransaction> findByCategoryIdAndTransactionDateBetween(Long categoryId, LocalDate start, LocalDate end);
-
-    List<LedgerTransaction> findTop5ByTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(LocalDate start, LocalDate end);
-
-    List<LedgerTransaction> findTop5ByCategoryIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(Long categoryId, LocalDate start, LocalDate end);
+import java.util.Optional;
+
+public interface LedgerTransactionRepository extends JpaRepository<LedgerTransaction, Long>,
+        JpaSpecificationExecutor<LedgerTransaction>,
+        LedgerTransactionRepositoryCustom {
+
+    Optional<LedgerTransaction> findByIdAndOwnerId(Long id, String ownerId);
+
+    /** 최근 거래 (카테고리 fetch join, 개수는 pageable로 제한, (owner_id, transaction_date, id) 역순으로 읽음) */
+    @Query("""
+            select t from LedgerTransaction t
+              join fetch t.category
+             where t.ownerId = :ownerId
+               and t.transactionDate between :start and :end
+               and (:categoryId is null or t.category.id = :categoryId)
+             order by t.transactionDate desc, t.id desc
+            """)
+    List<LedgerTransaction> findRecentWithCategory(@Param("ownerId") String ownerId,
+                                                   @Param("start") LocalDate start,
+                                                   @Param("end") LocalDate end,
+                                                   @Param("categoryId") Long categoryId,
+                                                   Pageable pageable);
 
     boolean existsByCategoryId(Long categoryId);
+
+    /** 카테고리의 거래를 id 순으로 나눠 읽음 (항목 정의 변경 시 색인 재생성) */
+    @Query("""
+            select t from LedgerTransaction t
+             where t.category.id = :categoryId
+               and t.id > :afterId
+             order by t.id
+            """)
+    List<LedgerTransaction> findCategoryBatch(@Param("categoryId") Long categoryId,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
 }
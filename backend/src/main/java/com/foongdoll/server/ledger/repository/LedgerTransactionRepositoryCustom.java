@@ -0,0 +1,31 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+public interface LedgerTransactionRepositoryCustom {
+
+    /** 검색 조건(specification)에 해당하는 거래의 수입/지출 합계 (DB에서 한 번에 집계) */
+    LedgerTotals sumTotals(Specification<LedgerTransaction> specification);
+
+    /**
+     * 목록 조회: 카테고리를 fetch join으로 함께 읽음 (행마다 카테고리 조회 없음)
+     * - 건수는 조인 없는 별도 count 쿼리, 첫 페이지가 다 안 차면 생략
+     */
+    Page<LedgerTransaction> findPageWithCategory(Specification<LedgerTransaction> specification, Pageable pageable);
+
+    /**
+     * 내보내기: 조건에 맞는 거래를 앞으로만 읽는 커서로 스트리밍 (목록 전체를 만들지 않음)
+     * - 호출자가 트랜잭션 안에서 닫아야 하며, 읽는 동안 같은 커넥션으로 다른 쿼리를 보내지 않아야 함
+     */
+    Stream<LedgerTransaction> streamAll(Specification<LedgerTransaction> specification, Sort sort, int fetchSize);
+
+    record LedgerTotals(BigDecimal income, BigDecimal expense) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * LedgerTransactionRepository 커스텀 구현
+ * - 목록과 같은 Specification 조건으로 SUM(CASE flow_type ...) 한 번만 실행
+ * - 엔티티/metadata_json을 읽지 않으므로 결과 건수와 무관하게 메모리 일정
+ * - 목록은 category fetch join + 조인 없는 count 쿼리
+ * - 내보내기는 fetch size 힌트를 준 getResultStream (JDBC 커서)
+ */
+public class LedgerTransactionRepositoryImpl implements LedgerTransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public LedgerTotals sumTotals(Specification<LedgerTransaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<LedgerTransaction> root = query.from(LedgerTransaction.class);
+
+        Expression<BigDecimal> amount = root.get("amount");
+        Expression<BigDecimal> zero = cb.literal(BigDecimal.ZERO);
+        Expression<BigDecimal> income = cb.<BigDecimal>selectCase()
+                .when(cb.equal(root.get("flowType"), LedgerFlowType.INCOME), amount)
+                .otherwise(zero);
+        Expression<BigDecimal> expense = cb.<BigDecimal>selectCase()
+                .when(cb.equal(root.get("flowType"), LedgerFlowType.EXPENSE), amount)
+                .otherwise(zero);
+        query.multiselect(
+                cb.coalesce(cb.sum(income), zero).alias("income"),
+                cb.coalesce(cb.sum(expense), zero).alias("expense")
+        );
+
+        applyPredicate(specification, root, query, cb);
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        return new LedgerTotals(
+                row.get("income", BigDecimal.class),
+                row.get("expense", BigDecimal.class)
+        );
+    }
+
+    @Override
+    public Page<LedgerTransaction> findPageWithCategory(Specification<LedgerTransaction> specification,
+                                                        Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LedgerTransaction> query = cb.createQuery(LedgerTransaction.class);
+        Root<LedgerTransaction> root = query.from(LedgerTransaction.class);
+        root.fetch("category", JoinType.INNER);
+        query.select(root);
+        applyPredicate(specification, root, query, cb);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<LedgerTransaction> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<LedgerTransaction> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Stream<LedgerTransaction> streamAll(Specification<LedgerTransaction> specification, Sort sort,
+                                               int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LedgerTransaction> query = cb.createQuery(LedgerTransaction.class);
+        Root<LedgerTransaction> root = query.from(LedgerTransaction.class);
+        query.select(root);
+        applyPredicate(specification, root, query, cb);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long count(Specification<LedgerTransaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<LedgerTransaction> root = query.from(LedgerTransaction.class);
+        query.select(cb.count(root));
+        applyPredicate(specification, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void applyPredicate(Specification<LedgerTransaction> specification, Root<LedgerTransaction> root,
+                                       CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
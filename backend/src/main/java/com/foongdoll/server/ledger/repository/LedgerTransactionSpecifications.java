@@ -2,15 +2,27 @@ package com.foongdoll.server.ledger.repository;
 
 import com.foongdoll.server.ledger.domain.LedgerFlowType;
 import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import com.foongdoll.server.ledger.domain.LedgerTransactionField;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class LedgerTransactionSpecifications {
 
     private LedgerTransactionSpecifications() {
     }
 
+    /** 소유자 조건 (기간 조건과 함께 (owner_id, transaction_date, id) 인덱스 사용) */
+    public static Specification<LedgerTransaction> ownedBy(String ownerId) {
+        return (root, query, builder) -> builder.equal(root.get("ownerId"), ownerId);
+    }
+
     public static Specification<LedgerTransaction> between(LocalDate start, LocalDate end) {
         return (root, query, builder) -> {
             if (start == null && end == null) {
@@ -56,4 +68,50 @@ public final class LedgerTransactionSpecifications {
             );
         };
     }
+
+    /**
+     * metadata 항목 조건 (ledger_tx_field 색인 사용)
+     * - column: numValue / dateValue / textValue, min/max는 포함 범위, equal은 일치 (null이면 생략)
+     */
+    public static <T extends Comparable<? super T>> Specification<LedgerTransaction> fieldMatches(
+            String key, String column, T min, T max, T equal) {
+        return (root, query, builder) -> {
+            if (key == null || key.isBlank()) {
+                return builder.conjunction();
+            }
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<LedgerTransactionField> field = subquery.from(LedgerTransactionField.class);
+            Path<T> value = field.get(column);
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(builder.equal(field.get("fieldKey"), key));
+            if (min != null) predicates.add(builder.greaterThanOrEqualTo(value, min));
+            if (max != null) predicates.add(builder.lessThanOrEqualTo(value, max));
+            if (equal != null) predicates.add(builder.equal(value, equal));
+            subquery.select(field.get("transactionId")).where(predicates.toArray(Predicate[]::new));
+            return root.get("id").in(subquery);
+        };
+    }
+
+    /**
+     * metadata 항목 값으로 정렬 (항목이 없는 거래는 null로 정렬)
+     * - 엔티티 목록 쿼리에만 ORDER BY를 붙이고 count/합계 쿼리에는 영향 없음
+     */
+    public static Specification<LedgerTransaction> orderByField(String key, String column, boolean ascending) {
+        return (root, query, builder) -> {
+            if (!LedgerTransaction.class.equals(query.getResultType())) {
+                return builder.conjunction();
+            }
+            Subquery<Object> subquery = query.subquery(Object.class);
+            Root<LedgerTransactionField> field = subquery.from(LedgerTransactionField.class);
+            subquery.select(field.get(column)).where(
+                    builder.equal(field.get("transactionId"), root.get("id")),
+                    builder.equal(field.get("fieldKey"), key)
+            );
+            query.orderBy(
+                    ascending ? builder.asc(subquery) : builder.desc(subquery),
+                    builder.desc(root.get("id"))
+            );
+            return builder.conjunction();
+        };
+    }
 }
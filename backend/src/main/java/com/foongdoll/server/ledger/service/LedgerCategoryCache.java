@@ -0,0 +1,141 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategory;
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.ledger.repository.LedgerCategoryRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자(ownerId)별 가계부 카테고리 캐시
+ * - id → (필드 정의, 응답 DTO)를 스냅샷으로 보관 → fields_json 디코딩은 카테고리당 한 번
+ * - 응답 DTO는 setter가 있어 공유하면 호출자 수정이 캐시에 남음 → 밖으로는 copy()한 복사본만 넘김
+ * - 거래 응답은 카테고리 id만으로 DTO를 찾으므로 지연 로딩 프록시를 초기화하지 않음
+ * - 카테고리 생성/수정/삭제 시 evict (버전 증가) → 다음 조회에서 한 번만 다시 적재
+ */
+@Component
+public class LedgerCategoryCache {
+
+    private final LedgerCategoryRepository categoryRepository;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public LedgerCategoryCache(LedgerCategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public Snapshot get(String ownerId) {
+        Snapshot cached = snapshots.get(ownerId);
+        if (cached != null) {
+            return cached;
+        }
+        // 적재 도중 evict가 일어나면 낡은 스냅샷을 넣지 않도록 버전을 비교
+        long loadedVersion = versions.getOrDefault(ownerId, 0L);
+        Snapshot loaded = load(ownerId, loadedVersion);
+        if (versions.getOrDefault(ownerId, 0L) == loadedVersion) {
+            snapshots.putIfAbsent(ownerId, loaded);
+        }
+        return loaded;
+    }
+
+    /** 트랜잭션 안이면 커밋 이후에도 한 번 더 비워서 커밋 전 재적재된 스냅샷을 제거 */
+    public void evict(String ownerId) {
+        evictNow(ownerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(ownerId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String ownerId) {
+        versions.merge(ownerId, 1L, Long::sum);
+        snapshots.remove(ownerId);
+    }
+
+    private Snapshot load(String ownerId, long loadedVersion) {
+        List<LedgerCategory> categories = categoryRepository.findAllByOwnerId(ownerId,
+                Sort.by(Sort.Direction.ASC, "name"));
+        Map<Long, Entry> byId = new LinkedHashMap<>();
+        List<LedgerDtos.CategoryResponse> sorted = new ArrayList<>(categories.size());
+        for (LedgerCategory category : categories) {
+            Entry entry = new Entry(toResponse(category), fieldMap(category.getFields()));
+            byId.put(category.getId(), entry);
+            sorted.add(entry.response());
+        }
+        return new Snapshot(loadedVersion, Collections.unmodifiableMap(byId), List.copyOf(sorted));
+    }
+
+    static LedgerDtos.CategoryResponse toResponse(LedgerCategory category) {
+        return LedgerDtos.CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .defaultFlowType(category.getDefaultFlowType())
+                .color(category.getColor())
+                .fields(category.getFields().stream()
+                        .map(field -> LedgerDtos.CategoryFieldDto.builder()
+                                .key(field.getKey())
+                                .label(field.getLabel())
+                                .fieldType(field.getFieldType())
+                                .required(field.isRequired())
+                                .options(field.getOptions() != null ? List.copyOf(field.getOptions()) : List.of())
+                                .build())
+                        .toList())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+
+    /** 캐시된 응답 DTO의 복사본 (필드 DTO까지, options 목록은 불변이라 공유) */
+    static LedgerDtos.CategoryResponse copy(LedgerDtos.CategoryResponse response) {
+        return LedgerDtos.CategoryResponse.builder()
+                .id(response.getId())
+                .name(response.getName())
+                .description(response.getDescription())
+                .defaultFlowType(response.getDefaultFlowType())
+                .color(response.getColor())
+                .fields(response.getFields().stream()
+                        .map(field -> LedgerDtos.CategoryFieldDto.builder()
+                                .key(field.getKey())
+                                .label(field.getLabel())
+                                .fieldType(field.getFieldType())
+                                .required(field.isRequired())
+                                .options(field.getOptions())
+                                .build())
+                        .toList())
+                .createdAt(response.getCreatedAt())
+                .updatedAt(response.getUpdatedAt())
+                .build();
+    }
+
+    static Map<String, LedgerCategoryField> fieldMap(List<LedgerCategoryField> fields) {
+        Map<String, LedgerCategoryField> byKey = new LinkedHashMap<>();
+        fields.forEach(field -> byKey.putIfAbsent(field.getKey(), field));
+        return Collections.unmodifiableMap(byKey);
+    }
+
+    /** 카테고리 하나: 응답 DTO와 key → 필드 정의 (둘 다 공유 원본이라 읽기만, 응답으로는 copyOfResponse) */
+    public record Entry(LedgerDtos.CategoryResponse response, Map<String, LedgerCategoryField> fieldsByKey) {
+        public LedgerDtos.CategoryResponse copyOfResponse() {
+            return copy(response);
+        }
+    }
+
+    /** 한 사용자의 카테고리 스냅샷 (version은 적재 시점의 캐시 버전, sortedByName의 DTO도 공유 원본) */
+    public record Snapshot(long version, Map<Long, Entry> byId, List<LedgerDtos.CategoryResponse> sortedByName) {
+        public Optional<Entry> entry(Long id) {
+            return Optional.ofNullable(byId.get(id));
+        }
+    }
+}
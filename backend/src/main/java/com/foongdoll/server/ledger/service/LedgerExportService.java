@@ -0,0 +1,178 @@
+package com.foongdoll.server.ledger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.ledger.repository.LedgerTransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 거래 내보내기 (CSV / NDJSON)
+ * - 목록과 같은 검색 조건을 앞으로만 읽는 커서(getResultStream + fetch size)로 읽어 바로 응답에 씀
+ * - EXPORT_CLEAR_INTERVAL 건마다 영속성 컨텍스트를 비워 메모리를 일정하게 유지
+ * - 카테고리 이름/항목 목록은 캐시에서 읽음 → 스트리밍 중 같은 커넥션으로 추가 쿼리를 보내지 않음
+ *   (MySQL 스트리밍 결과셋은 다 읽기 전까지 다른 쿼리를 받지 않음)
+ * - CSV 열 구성은 가져오기 형식과 같음 (date, amount, flowType, category, memo, wallet, 항목 키...)
+ */
+@Service
+public class LedgerExportService {
+
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+
+    /** NDJSON 내보내기 전용 (LocalDate는 ISO 문자열) */
+    private static final ObjectMapper TRANSFER_MAPPER = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final LedgerService ledgerService;
+    private final LedgerTransactionRepository transactionRepository;
+    private final LedgerCategoryCache categoryCache;
+    private final TransactionTemplate readTransaction;
+    /** MySQL Connector/J는 Integer.MIN_VALUE일 때 행 단위 스트리밍 (양수면 useCursorFetch=true 필요) */
+    private final int fetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LedgerExportService(LedgerService ledgerService,
+                               LedgerTransactionRepository transactionRepository,
+                               LedgerCategoryCache categoryCache,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.ledger.export-fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.ledgerService = ledgerService;
+        this.transactionRepository = transactionRepository;
+        this.categoryCache = categoryCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public enum ExportFormat {
+        CSV,
+        NDJSON
+    }
+
+    /** 검색 조건 검증은 요청 스레드에서 먼저 (잘못된 조건이면 응답 시작 전에 400) */
+    public StreamingResponseBody export(LedgerDtos.TransactionSearchRequest searchRequest, ExportFormat format) {
+        Specification<LedgerTransaction> specification = ledgerService.searchSpecification(searchRequest);
+        Sort sort = ledgerService.resolveSort(searchRequest.getSort());
+        LedgerCategoryCache.Snapshot categories = categoryCache.get(LedgerService.currentOwnerId());
+        List<String> fieldKeys = fieldKeys(categories, searchRequest.getCategoryId());
+        return out -> readTransaction.executeWithoutResult(status -> {
+            try (Stream<LedgerTransaction> rows = transactionRepository.streamAll(specification, sort, fetchSize)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (format == ExportFormat.CSV) {
+                    writeCsvHeader(writer, fieldKeys);
+                }
+                int written = 0;
+                for (Iterator<LedgerTransaction> it = rows.iterator(); it.hasNext(); ) {
+                    LedgerTransaction transaction = it.next();
+                    if (format == ExportFormat.CSV) {
+                        writeCsvRow(writer, transaction, categories, fieldKeys);
+                    } else {
+                        writer.write(TRANSFER_MAPPER.writeValueAsString(toJson(transaction, categories)));
+                        writer.write('\n');
+                    }
+                    if (++written % EXPORT_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** 카테고리를 지정하면 그 카테고리의 항목, 아니면 전체 카테고리 항목 키 (정의 순서, 중복 제거) */
+    private static List<String> fieldKeys(LedgerCategoryCache.Snapshot categories, Long categoryId) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (categoryId != null) {
+            categories.entry(categoryId).ifPresent(entry -> keys.addAll(entry.fieldsByKey().keySet()));
+        } else {
+            categories.byId().values().forEach(entry -> keys.addAll(entry.fieldsByKey().keySet()));
+        }
+        return List.copyOf(keys);
+    }
+
+    private static void writeCsvHeader(Writer writer, List<String> fieldKeys) throws IOException {
+        List<String> header = new ArrayList<>(List.of("date", "amount", "flowType", "category", "memo", "wallet"));
+        header.addAll(fieldKeys);
+        writeCsvLine(writer, header);
+    }
+
+    private static void writeCsvRow(Writer writer, LedgerTransaction transaction,
+                                    LedgerCategoryCache.Snapshot categories, List<String> fieldKeys) throws IOException {
+        List<String> cells = new ArrayList<>(6 + fieldKeys.size());
+        cells.add(transaction.getTransactionDate().toString());
+        cells.add(transaction.getAmount().toPlainString());
+        cells.add(transaction.getFlowType().name());
+        cells.add(categoryName(transaction, categories));
+        cells.add(transaction.getMemo());
+        cells.add(transaction.getWallet());
+        Map<String, Object> metadata = transaction.getMetadata();
+        for (String key : fieldKeys) {
+            Object value = metadata.get(key);
+            cells.add(value == null ? null : value.toString());
+        }
+        writeCsvLine(writer, cells);
+    }
+
+    private static void writeCsvLine(Writer writer, List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) writer.write(',');
+            String cell = cells.get(i);
+            if (cell == null) continue;
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(cell.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(cell);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static Map<String, Object> toJson(LedgerTransaction transaction, LedgerCategoryCache.Snapshot categories) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", transaction.getId());
+        json.put("transactionDate", transaction.getTransactionDate());
+        json.put("flowType", transaction.getFlowType());
+        json.put("amount", transaction.getAmount());
+        json.put("categoryId", transaction.getCategory().getId());
+        json.put("categoryName", categoryName(transaction, categories));
+        json.put("memo", transaction.getMemo());
+        json.put("wallet", transaction.getWallet());
+        json.put("metadata", transaction.getMetadata());
+        json.put("createdAt", transaction.getCreatedAt());
+        json.put("updatedAt", transaction.getUpdatedAt());
+        return json;
+    }
+
+    /** id만 읽으므로 카테고리 프록시를 초기화하지 않음 */
+    private static String categoryName(LedgerTransaction transaction, LedgerCategoryCache.Snapshot categories) {
+        Long categoryId = transaction.getCategory().getId();
+        return categories.entry(categoryId)
+                .map(entry -> entry.response().getName())
+                .orElse(String.valueOf(categoryId));
+    }
+}
@@ -0,0 +1,164 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import com.foongdoll.server.ledger.domain.LedgerTransactionField;
+import com.foongdoll.server.ledger.repository.LedgerTransactionFieldRepository;
+import com.foongdoll.server.ledger.repository.LedgerTransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ledger_tx_field 유지
+ * - 거래 저장 시 해당 거래의 행을 지우고 metadata에서 다시 만듦 (거래당 항목 수만큼만)
+ * - 시작 시 색인이 비어 있고 거래가 있으면 한 번 채움
+ * - 카테고리 항목 정의(키/타입)가 바뀌면 그 카테고리 거래의 행을 배치로 다시 만듦
+ * - 검색 조건 값도 같은 규칙으로 변환 (parseNumber / parseDate)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerFieldIndexService {
+
+    private static final int BACKFILL_BATCH = 500;
+
+    private final LedgerTransactionFieldRepository fieldRepository;
+    private final LedgerTransactionRepository transactionRepository;
+    private final LedgerCategoryCache categoryCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public void index(LedgerTransaction transaction, Map<String, LedgerCategoryField> fields) {
+        fieldRepository.deleteByTransactionId(transaction.getId());
+        List<LedgerTransactionField> rows = toRows(transaction.getId(), transaction.getMetadata(), fields);
+        if (!rows.isEmpty()) {
+            fieldRepository.saveAll(rows);
+        }
+    }
+
+    @Transactional
+    public void remove(Long transactionId) {
+        fieldRepository.deleteByTransactionId(transactionId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeIfEmpty() {
+        if (fieldRepository.count() > 0 || transactionRepository.count() == 0) {
+            return;
+        }
+        int indexed = 0;
+        Slice<LedgerTransaction> slice;
+        int page = 0;
+        do {
+            slice = transactionRepository.findAll(PageRequest.of(page++, BACKFILL_BATCH, Sort.by("id")));
+            List<LedgerTransactionField> rows = new ArrayList<>();
+            for (LedgerTransaction transaction : slice) {
+                categoryCache.get(transaction.getOwnerId()).entry(transaction.getCategory().getId())
+                        .ifPresent(entry -> rows.addAll(
+                                toRows(transaction.getId(), transaction.getMetadata(), entry.fieldsByKey())));
+            }
+            fieldRepository.saveAll(rows);
+            indexed += rows.size();
+            entityManager.flush();
+            entityManager.clear();
+        } while (slice.hasNext());
+        log.info("Built ledger field index: {} rows", indexed);
+    }
+
+    /**
+     * 카테고리 항목 정의 변경 후 재색인 (id 순 BACKFILL_BATCH 건씩, 배치마다 flush/clear)
+     * - 타입이 바뀐 항목은 num_value/date_value를 새 타입으로, 없어진 항목의 행은 삭제
+     */
+    @Transactional
+    public int reindexCategory(Long categoryId, Map<String, LedgerCategoryField> fields) {
+        entityManager.flush();
+        int indexed = 0;
+        long afterId = 0;
+        List<LedgerTransaction> batch;
+        do {
+            batch = transactionRepository.findCategoryBatch(categoryId, afterId, PageRequest.of(0, BACKFILL_BATCH));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = batch.stream().map(LedgerTransaction::getId).toList();
+            fieldRepository.deleteByTransactionIdIn(ids);
+            List<LedgerTransactionField> rows = new ArrayList<>();
+            for (LedgerTransaction transaction : batch) {
+                rows.addAll(toRows(transaction.getId(), transaction.getMetadata(), fields));
+            }
+            fieldRepository.saveAll(rows);
+            indexed += rows.size();
+            afterId = ids.get(ids.size() - 1);
+            entityManager.flush();
+            entityManager.clear();
+        } while (batch.size() == BACKFILL_BATCH);
+        log.info("Reindexed ledger fields of category {}: {} rows", categoryId, indexed);
+        return indexed;
+    }
+
+    static BigDecimal parseNumber(Object value) {
+        if (value instanceof BigDecimal decimal) return decimal;
+        if (value instanceof Number number) return new BigDecimal(number.toString());
+        if (value == null) return null;
+        try {
+            return new BigDecimal(value.toString().trim().replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static LocalDate parseDate(Object value) {
+        if (value instanceof LocalDate date) return date;
+        if (value == null) return null;
+        try {
+            return LocalDate.parse(value.toString().trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static List<LedgerTransactionField> toRows(Long transactionId, Map<String, Object> metadata,
+                                               Map<String, LedgerCategoryField> fields) {
+        List<LedgerTransactionField> rows = new ArrayList<>();
+        metadata.forEach((key, value) -> {
+            LedgerCategoryField field = fields.get(key);
+            if (field == null || value == null || key.length() > LedgerTransactionField.MAX_KEY_LENGTH) {
+                return;
+            }
+            String text = value.toString();
+            rows.add(LedgerTransactionField.builder()
+                    .transactionId(transactionId)
+                    .fieldKey(key)
+                    .numValue(isNumeric(field.getFieldType()) ? parseNumber(value) : null)
+                    .dateValue(field.getFieldType() == LedgerCategoryField.FieldType.DATE ? parseDate(value) : null)
+                    .textValue(text.length() > LedgerTransactionField.MAX_TEXT_LENGTH
+                            ? text.substring(0, LedgerTransactionField.MAX_TEXT_LENGTH)
+                            : text)
+                    .build());
+        });
+        return rows;
+    }
+
+    static boolean isNumeric(LedgerCategoryField.FieldType type) {
+        return type == LedgerCategoryField.FieldType.NUMBER || type == LedgerCategoryField.FieldType.DECIMAL;
+    }
+}
@@ -0,0 +1,500 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerTransactionField;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.ledger.repository.LedgerBulkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 거래 파일 가져오기 (CSV / OFX)
+ * - 파일을 한 줄씩 읽어 IMPORT_BATCH_SIZE 단위로 트랜잭션 분할 저장 (파일 전체를 메모리에 올리지 않음)
+ *   (파일 안 중복 구분용으로 서로 다른 행마다 32바이트 해시 하나만 유지)
+ * - 항목 검증은 거래 생성과 같은 normalizeMetadata, 숫자/날짜 항목은 타입에 맞게 변환
+ * - 내용 해시(import_hash)로 이미 가져온 행은 건너뜀 → 같은 파일/겹치는 기간 명세서를 다시 올려도 안전
+ *   (해시에 소유자를 넣어 다른 사용자가 같은 파일을 가져와도 충돌하지 않음)
+ * - 쓰기는 JDBC 배치 (거래 → id 재조회 → 항목 색인), 롤업은 배치 안에서 키별로 묶어 한 번씩 증감
+ * - 잘못된 줄은 건너뛰고 줄 번호와 함께 errors에 기록
+ */
+@Slf4j
+@Service
+public class LedgerImportService {
+
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final int IMPORT_MAX_ERRORS = 100;
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern OFX_TAG = Pattern.compile("<(/?)([A-Za-z0-9.]+)>([^<]*)");
+
+    private final LedgerCategoryCache categoryCache;
+    private final LedgerRollupService rollupService;
+    private final LedgerBulkRepository bulkRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public LedgerImportService(LedgerCategoryCache categoryCache,
+                               LedgerRollupService rollupService,
+                               LedgerBulkRepository bulkRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.categoryCache = categoryCache;
+        this.rollupService = rollupService;
+        this.bulkRepository = bulkRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public enum ImportFormat {
+        CSV,
+        OFX
+    }
+
+    /**
+     * CSV: 첫 줄은 헤더 (date, amount 필수 / flowType, category, memo, wallet 선택 / 그 외 열은 항목 키)
+     * OFX: STMTTRN마다 한 건, 금액 부호로 수입/지출 결정, 카테고리는 defaultCategoryId
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LedgerDtos.ImportResponse importTransactions(MultipartFile file, ImportFormat format, Long defaultCategoryId) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("가져올 파일이 없습니다.");
+        }
+        ImportFormat resolved = format != null ? format : detectFormat(file.getOriginalFilename());
+        String ownerId = LedgerService.currentOwnerId();
+        LedgerCategoryCache.Snapshot categories = categoryCache.get(ownerId);
+        if (defaultCategoryId != null && categories.entry(defaultCategoryId).isEmpty()) {
+            throw new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + defaultCategoryId);
+        }
+        if (resolved == ImportFormat.OFX && defaultCategoryId == null) {
+            throw new IllegalArgumentException("OFX 가져오기에는 카테고리를 지정해야 합니다.");
+        }
+
+        long started = System.nanoTime();
+        ImportContext context = new ImportContext(ownerId, categories, defaultCategoryId);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            Consumer<RawRow> sink = row -> {
+                context.accept(row);
+                if (context.batch.size() >= IMPORT_BATCH_SIZE) {
+                    saveBatch(context);
+                }
+            };
+            if (resolved == ImportFormat.OFX) {
+                readOfx(reader, sink);
+            } else {
+                readCsv(reader, sink, context);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("가져오기 파일을 읽을 수 없습니다.", e);
+        }
+        if (!context.batch.isEmpty()) {
+            saveBatch(context);
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double rowsPerSecond = context.imported * 1000.0 / elapsedMillis;
+        log.info("Ledger import: {} imported, {} duplicates, {} failed in {} ms ({} rows/s)",
+                context.imported, context.duplicates, context.failed, elapsedMillis, Math.round(rowsPerSecond));
+        return LedgerDtos.ImportResponse.builder()
+                .imported(context.imported)
+                .duplicates(context.duplicates)
+                .failed(context.failed)
+                .errors(context.errors)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0)
+                .build();
+    }
+
+    /**
+     * 배치 저장, 실패하면 행마다 다시 시도
+     * - 같은 파일을 동시에 올려 import_hash 유니크가 겹치는 등 한 행 때문에 배치 전체를 버리지 않음
+     *   (다시 시도할 때 먼저 들어간 행은 중복으로 집계)
+     */
+    private void saveBatch(ImportContext context) {
+        List<ImportRow> batch = new ArrayList<>(context.batch);
+        context.batch.clear();
+        try {
+            context.saved(batch.size(), writeRows(context.ownerId, batch));
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                context.failed++;
+                context.error(batch.get(0).lineNo() + "행 저장 실패: " + batchFailure.getMessage());
+                return;
+            }
+            for (ImportRow row : batch) {
+                try {
+                    context.saved(1, writeRows(context.ownerId, List.of(row)));
+                } catch (RuntimeException e) {
+                    context.failed++;
+                    context.error(row.lineNo() + "행 저장 실패: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** 한 트랜잭션: 이미 있는 해시 제외 → 거래 INSERT → id 재조회 → 항목 색인 → 롤업, 새로 넣은 행 수 반환 */
+    private int writeRows(String ownerId, List<ImportRow> rows) {
+        return Objects.requireNonNull(writeTransaction.execute(status -> {
+            Set<String> existing = bulkRepository.findExistingImportHashes(
+                    rows.stream().map(ImportRow::hash).toList());
+            List<ImportRow> fresh = rows.stream().filter(row -> !existing.contains(row.hash())).toList();
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+            bulkRepository.insertTransactions(fresh.stream().map(ImportRow::transaction).toList());
+
+            Map<String, Long> ids = bulkRepository.findIdsByImportHash(fresh.stream().map(ImportRow::hash).toList());
+            List<LedgerTransactionField> fields = new ArrayList<>();
+            Map<RollupKey, RollupTotal> rollups = new HashMap<>();
+            for (ImportRow row : fresh) {
+                LedgerBulkRepository.NewTransaction tx = row.transaction();
+                fields.addAll(LedgerFieldIndexService.toRows(ids.get(row.hash()), tx.metadata(), row.fields()));
+                rollups.computeIfAbsent(new RollupKey(tx.transactionDate(), tx.categoryId(), tx.flowType()),
+                        key -> new RollupTotal()).add(tx.amount());
+            }
+            bulkRepository.insertFields(fields);
+            rollups.forEach((key, total) -> rollupService.addTotals(ownerId, key.date(), key.categoryId(),
+                    key.flowType(), LedgerMoney.toDecimal(total.amount), total.count));
+            return fresh.size();
+        }));
+    }
+
+    /* ==================== 파서 ==================== */
+
+    static void readCsv(BufferedReader reader, Consumer<RawRow> sink, ImportContext context) throws IOException {
+        List<String> header = null;
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            int startLine = lineNo;
+            // 따옴표 안의 줄바꿈: 닫는 따옴표가 나올 때까지 다음 줄을 이어 붙임
+            while (!quotesBalanced(line)) {
+                String next = reader.readLine();
+                if (next == null) break;
+                lineNo++;
+                line = line + "\n" + next;
+            }
+            if (line.isBlank()) continue;
+            List<String> cells = splitCsv(line);
+            if (header == null) {
+                header = cells.stream().map(cell -> cell.trim().replace("\uFEFF", "")).toList();
+                if (!header.contains("date") || !header.contains("amount")) {
+                    throw new IllegalArgumentException("CSV 헤더에 date, amount 열이 필요합니다.");
+                }
+                continue;
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size() && i < cells.size(); i++) {
+                values.put(header.get(i), cells.get(i));
+            }
+            sink.accept(new RawRow(startLine, values, null));
+        }
+        if (header == null) {
+            context.error("빈 파일입니다.");
+        }
+    }
+
+    static void readOfx(BufferedReader reader, Consumer<RawRow> sink) throws IOException {
+        Map<String, String> current = null;
+        int startLine = 0;
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            Matcher matcher = OFX_TAG.matcher(line);
+            while (matcher.find()) {
+                boolean closing = !matcher.group(1).isEmpty();
+                String tag = matcher.group(2).toUpperCase(Locale.ROOT);
+                if (tag.equals("STMTTRN")) {
+                    if (!closing) {
+                        current = new LinkedHashMap<>();
+                        startLine = lineNo;
+                    } else if (current != null) {
+                        sink.accept(toOfxRow(startLine, current));
+                        current = null;
+                    }
+                } else if (current != null && !closing) {
+                    current.put(tag, matcher.group(3).trim());
+                }
+            }
+        }
+    }
+
+    private static RawRow toOfxRow(int lineNo, Map<String, String> tags) {
+        Map<String, String> values = new LinkedHashMap<>();
+        String posted = tags.getOrDefault("DTPOSTED", "");
+        values.put("date", posted.length() >= 8 ? posted.substring(0, 8) : posted);
+        values.put("amount", tags.get("TRNAMT"));
+        String name = tags.get("NAME");
+        String memo = tags.get("MEMO");
+        values.put("memo", StringUtils.hasText(name) && StringUtils.hasText(memo) && !name.equals(memo)
+                ? name + " " + memo
+                : StringUtils.hasText(name) ? name : memo);
+        return new RawRow(lineNo, values, tags.get("FITID"));
+    }
+
+    private static boolean quotesBalanced(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') quotes++;
+        }
+        return quotes % 2 == 0;
+    }
+
+    /** RFC 4180: 쉼표 구분, 큰따옴표로 감싼 칸 안의 "" 는 따옴표 하나 */
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static ImportFormat detectFormat(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        return name.endsWith(".ofx") || name.endsWith(".qfx") ? ImportFormat.OFX : ImportFormat.CSV;
+    }
+
+    /* ==================== 행 변환 ==================== */
+
+    record RawRow(int lineNo, Map<String, String> values, String externalId) {
+    }
+
+    record ImportRow(int lineNo, LedgerBulkRepository.NewTransaction transaction,
+                             Map<String, LedgerCategoryField> fields, String hash) {
+    }
+
+    private record RollupKey(LocalDate date, Long categoryId, LedgerFlowType flowType) {
+    }
+
+    /** 배치 안 (날짜, 카테고리, 흐름)별 합계 (minor unit long) */
+    private static final class RollupTotal {
+        private long amount;
+        private long count;
+
+        private void add(BigDecimal value) {
+            amount = LedgerMoney.add(amount, LedgerMoney.toMinor(value));
+            count++;
+        }
+    }
+
+    static final class ImportContext {
+        private final String ownerId;
+        private final LedgerCategoryCache.Snapshot categories;
+        private final Long defaultCategoryId;
+        private final Map<String, Long> categoryIdByName = new HashMap<>();
+        /**
+         * 파일 안에서 같은 내용이 몇 번째인지 (같은 날 같은 금액 두 건을 구분)
+         * - 키는 내용 문자열의 SHA-256 (memo 길이와 무관하게 행당 32바이트)
+         */
+        private final Map<ByteBuffer, Integer> occurrences = new HashMap<>();
+        private final List<ImportRow> batch = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int imported;
+        private int duplicates;
+        private int failed;
+
+        ImportContext(String ownerId, LedgerCategoryCache.Snapshot categories, Long defaultCategoryId) {
+            this.ownerId = ownerId;
+            this.categories = categories;
+            this.defaultCategoryId = defaultCategoryId;
+            categories.sortedByName().forEach(category ->
+                    categoryIdByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category.getId()));
+        }
+
+        void accept(RawRow raw) {
+            try {
+                batch.add(toImportRow(raw));
+            } catch (IllegalArgumentException e) {
+                failed++;
+                error(raw.lineNo() + "행: " + e.getMessage());
+            }
+        }
+
+        private void error(String message) {
+            if (errors.size() < IMPORT_MAX_ERRORS) errors.add(message);
+        }
+
+        private void saved(int rows, int inserted) {
+            imported += inserted;
+            duplicates += rows - inserted;
+        }
+
+        ImportRow toImportRow(RawRow raw) {
+            Map<String, String> values = new LinkedHashMap<>(raw.values());
+            Long categoryId = resolveCategory(values.remove("category"));
+            LedgerCategoryCache.Entry category = categories.entry(categoryId)
+                    .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + categoryId));
+
+            LocalDate date = parseDate(values.remove("date"));
+            BigDecimal amount = parseAmount(values.remove("amount"));
+            LedgerFlowType flowType = parseFlowType(values.remove("flowType"));
+            if (amount.signum() < 0) {
+                // 부호 있는 명세서 금액: 음수는 지출
+                if (flowType == null) flowType = LedgerFlowType.EXPENSE;
+                amount = amount.negate();
+            } else if (flowType == null) {
+                flowType = raw.externalId() != null
+                        ? LedgerFlowType.INCOME
+                        : category.response().getDefaultFlowType();
+            }
+            if (amount.signum() == 0) {
+                throw new IllegalArgumentException("금액은 0보다 커야 합니다.");
+            }
+            if (amount.scale() > 2 || amount.precision() - amount.scale() > 13) {
+                throw new IllegalArgumentException("금액 형식이 올바르지 않습니다: " + amount.toPlainString());
+            }
+
+            String memo = truncate(values.remove("memo"), 255);
+            String wallet = truncate(values.remove("wallet"), 80);
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            values.forEach((key, value) -> {
+                LedgerCategoryField field = category.fieldsByKey().get(key);
+                if (field != null && StringUtils.hasText(value)) {
+                    metadata.put(key, typedValue(field, value.trim()));
+                }
+            });
+            Map<String, Object> normalized = LedgerService.normalizeMetadata(category.fieldsByKey(), metadata);
+
+            String content = ownerId + "|" + date + "|" + amount.stripTrailingZeros().toPlainString() + "|" + flowType + "|"
+                    + categoryId + "|" + Objects.toString(memo, "") + "|" + Objects.toString(wallet, "")
+                    + "|" + Objects.toString(raw.externalId(), "");
+            int occurrence = occurrences.merge(ByteBuffer.wrap(digest(content)), 1, Integer::sum);
+            String hash = sha256(content + "#" + occurrence);
+
+            return new ImportRow(raw.lineNo(),
+                    new LedgerBulkRepository.NewTransaction(ownerId, categoryId, flowType, date, amount, memo, wallet,
+                            normalized, hash),
+                    category.fieldsByKey(), hash);
+        }
+
+        private Long resolveCategory(String value) {
+            if (!StringUtils.hasText(value)) {
+                if (defaultCategoryId == null) {
+                    throw new IllegalArgumentException("카테고리가 없습니다.");
+                }
+                return defaultCategoryId;
+            }
+            String trimmed = value.trim();
+            Long byName = categoryIdByName.get(trimmed.toLowerCase(Locale.ROOT));
+            if (byName != null) return byName;
+            try {
+                return Long.valueOf(trimmed);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + trimmed);
+            }
+        }
+    }
+
+    private static Object typedValue(LedgerCategoryField field, String value) {
+        if (LedgerFieldIndexService.isNumeric(field.getFieldType())) {
+            BigDecimal number = LedgerFieldIndexService.parseNumber(value);
+            if (number == null) {
+                throw new IllegalArgumentException(field.getLabel() + ": 숫자 형식이 아닙니다.");
+            }
+            return number;
+        }
+        if (field.getFieldType() == LedgerCategoryField.FieldType.DATE) {
+            return parseDate(value).toString();
+        }
+        if (field.getFieldType() == LedgerCategoryField.FieldType.SELECT
+                && field.getOptions() != null && !field.getOptions().isEmpty()
+                && !field.getOptions().contains(value)) {
+            throw new IllegalArgumentException(field.getLabel() + ": 선택지에 없는 값입니다: " + value);
+        }
+        return value;
+    }
+
+    /** yyyy-MM-dd, yyyy/MM/dd, yyyy.MM.dd, yyyyMMdd */
+    private static LocalDate parseDate(String value) {
+        if (!StringUtils.hasText(value)) {
+            throw new IllegalArgumentException("날짜가 없습니다.");
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.length() == 8 && trimmed.chars().allMatch(Character::isDigit)) {
+                return LocalDate.parse(trimmed, OFX_DATE);
+            }
+            return LocalDate.parse(trimmed.replace('/', '-').replace('.', '-'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다: " + trimmed);
+        }
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        BigDecimal amount = StringUtils.hasText(value) ? LedgerFieldIndexService.parseNumber(value) : null;
+        if (amount == null) {
+            throw new IllegalArgumentException("금액 형식이 올바르지 않습니다: " + value);
+        }
+        return amount;
+    }
+
+    private static LedgerFlowType parseFlowType(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "INCOME", "수입" -> LedgerFlowType.INCOME;
+            case "EXPENSE", "지출" -> LedgerFlowType.EXPENSE;
+            default -> throw new IllegalArgumentException("수입/지출 구분이 올바르지 않습니다: " + value);
+        };
+    }
+
+    private static String truncate(String value, int max) {
+        if (!StringUtils.hasText(value)) return null;
+        String trimmed = value.trim();
+        return trimmed.length() > max ? trimmed.substring(0, max) : trimmed;
+    }
+
+    private static String sha256(String value) {
+        return HexFormat.of().formatHex(digest(value));
+    }
+
+    private static byte[] digest(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 집계 전용 금액 표현: 소수 2자리(amount 컬럼 scale)를 고정한 long (minor unit, 1.23 → 123)
+ * - 합산은 primitive long + Math.addExact (overflow 시 IllegalStateException)
+ * - BigDecimal 변환은 입력 행마다 한 번, 응답을 만들 때 한 번
+ */
+final class LedgerMoney {
+
+    static final int SCALE = 2;
+
+    private LedgerMoney() {
+    }
+
+    static long toMinor(BigDecimal amount) {
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("금액을 집계 단위로 바꿀 수 없습니다: " + amount, e);
+        }
+    }
+
+    static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    static long add(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("금액 합계가 표현 범위를 넘었습니다.", e);
+        }
+    }
+
+    /** 백분율 (소수 2자리 반올림, 분모가 0이면 0) */
+    static double percentage(long part, long whole) {
+        if (whole == 0) {
+            return 0;
+        }
+        return BigDecimal.valueOf(part).multiply(BigDecimal.valueOf(100))
+                .divide(BigDecimal.valueOf(whole), 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    /** 수입/지출 합계 한 쌍 (전체 · 일 · 기간 버킷용 가변 누적기) */
+    static final class FlowTotals {
+        private long income;
+        private long expense;
+
+        void add(LedgerFlowType flowType, BigDecimal amount) {
+            add(flowType, toMinor(amount));
+        }
+
+        void add(LedgerFlowType flowType, long minor) {
+            if (flowType == LedgerFlowType.INCOME) {
+                income = LedgerMoney.add(income, minor);
+            } else {
+                expense = LedgerMoney.add(expense, minor);
+            }
+        }
+
+        long income() {
+            return income;
+        }
+
+        long expense() {
+            return expense;
+        }
+
+        /** 수입 - 지출 */
+        long net() {
+            try {
+                return Math.subtractExact(income, expense);
+            } catch (ArithmeticException e) {
+                throw new IllegalStateException("금액 합계가 표현 범위를 넘었습니다.", e);
+            }
+        }
+
+        BigDecimal incomeAmount() {
+            return toDecimal(income);
+        }
+
+        BigDecimal expenseAmount() {
+            return toDecimal(expense);
+        }
+    }
+}
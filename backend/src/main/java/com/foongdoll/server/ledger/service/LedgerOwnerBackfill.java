@@ -0,0 +1,97 @@
+package com.foongdoll.server.ledger.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 소유자 없는 가계부 행 정리 (한 번만 도는 마이그레이션)
+ * - owner_id 컬럼이 생기기 전 행은 빈 문자열(또는 NULL)로 남아 어떤 사용자에게도 보이지 않음
+ * - 시작 시 app.ledger.legacy-owner-id(로그인 nickname)에게 배정, 설정이 없으면 건수만 경고
+ * - 카테고리 · 거래 · 롤업을 모두 같은 소유자로 옮김 (롤업 합계는 카테고리 단위라 그대로 유효)
+ * - 테이블마다 BATCH_SIZE 행씩 UPDATE, 배치마다 트랜잭션
+ * - 옮긴 거래의 import_hash는 소유자 없이 계산된 값 → 같은 명세서를 다시 가져오면 중복으로 걸러지지 않을 수 있음
+ */
+@Slf4j
+@Service
+public class LedgerOwnerBackfill {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final List<String> TABLES = List.of(
+            "ledger_categories", "ledger_transactions", "ledger_daily_rollup", "ledger_period_rollup");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final LedgerCategoryCache categoryCache;
+    private final String legacyOwnerId;
+
+    public LedgerOwnerBackfill(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               LedgerCategoryCache categoryCache,
+                               @Value("${app.ledger.legacy-owner-id:}") String legacyOwnerId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.categoryCache = categoryCache;
+        this.legacyOwnerId = legacyOwnerId == null ? "" : legacyOwnerId.trim();
+    }
+
+    /** 롤업/색인 초기화보다 먼저 실행 (옮긴 뒤의 소유자로 계산되도록) */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillOnStartup() {
+        if (legacyOwnerId.isEmpty()) {
+            long orphans = countOrphans();
+            if (orphans > 0) {
+                log.warn("{} ledger rows have no owner; set app.ledger.legacy-owner-id to assign them", orphans);
+            }
+            return;
+        }
+        int rows = backfill();
+        if (rows > 0) {
+            log.info("Assigned {} ownerless ledger rows to {}", rows, legacyOwnerId);
+        }
+    }
+
+    /** 소유자 없는 행을 legacyOwnerId로 옮기고 옮긴 행 수 반환 (설정이 없으면 0) */
+    public int backfill() {
+        if (legacyOwnerId.isEmpty()) {
+            return 0;
+        }
+        int total = 0;
+        for (String table : TABLES) {
+            String sql = "UPDATE " + table + " SET owner_id = ? WHERE owner_id = '' OR owner_id IS NULL LIMIT ?";
+            while (true) {
+                Integer updated = writeTransaction.execute(status ->
+                        jdbcTemplate.update(sql, legacyOwnerId, BATCH_SIZE));
+                if (updated == null || updated == 0) {
+                    break;
+                }
+                total += updated;
+            }
+        }
+        if (total > 0) {
+            categoryCache.evict(legacyOwnerId);
+        }
+        return total;
+    }
+
+    private long countOrphans() {
+        long orphans = 0;
+        for (String table : TABLES) {
+            Long count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE owner_id = '' OR owner_id IS NULL", Long.class);
+            orphans += count == null ? 0 : count;
+        }
+        return orphans;
+    }
+}
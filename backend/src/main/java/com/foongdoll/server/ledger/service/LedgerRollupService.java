@@ -0,0 +1,236 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerDailyRollup;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerPeriodRollup;
+import com.foongdoll.server.ledger.domain.LedgerRollupPeriod;
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import com.foongdoll.server.ledger.repository.LedgerDailyRollupRepository;
+import com.foongdoll.server.ledger.repository.LedgerPeriodRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 거래 롤업 유지 / 조회 (조회는 소유자 단위)
+ * - 거래 생성/수정/삭제 시 일 · 월 · 연 행을 하나씩 증감 (INSERT ... ON DUPLICATE KEY UPDATE)
+ * - 시작 시 비어 있으면 채우고, 매일 한 번 거래 테이블 기준으로 다시 계산해 어긋난 값을 보정
+ * - 재계산은 사용자 · 연도별 트랜잭션 → 전체 테이블을 한 번에 비우지 않고, 그 구간의 거래만 잠깐 잠금
+ * - 기간 조회는 [start, end]를 가능한 가장 큰 단위로 쪼개서 읽음
+ *   (예: 2023-11-15 ~ 2025-02-10 → 일 16개 + 월 1개 + 연 1개 + 월 1개 + 일 10개, 최대 5번 조회)
+ */
+@Slf4j
+@Service
+public class LedgerRollupService {
+
+    /** ledger_period_rollup에 저장하는 단위 (큰 단위부터) */
+    private static final LedgerRollupPeriod[] COARSE_PERIODS = {LedgerRollupPeriod.YEAR, LedgerRollupPeriod.MONTH};
+
+    private final LedgerDailyRollupRepository dailyRollupRepository;
+    private final LedgerPeriodRollupRepository periodRollupRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public LedgerRollupService(LedgerDailyRollupRepository dailyRollupRepository,
+                               LedgerPeriodRollupRepository periodRollupRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.periodRollupRepository = periodRollupRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /** 롤업 한 행 (periodStart는 period 단위의 시작일) */
+    public record RollupSlice(LedgerRollupPeriod period, LocalDate periodStart, Long categoryId,
+                              LedgerFlowType flowType, BigDecimal total, long count) {
+    }
+
+    /** 같은 단위가 이어지는 구간 [from, to] (둘 다 period 단위 시작일) */
+    record Segment(LedgerRollupPeriod period, LocalDate from, LocalDate to) {
+    }
+
+    @Transactional
+    public void added(LedgerTransaction transaction) {
+        apply(transaction, 1);
+    }
+
+    @Transactional
+    public void removed(LedgerTransaction transaction) {
+        apply(transaction, -1);
+    }
+
+    /**
+     * ownerId의 [start, end] 구간 롤업 행
+     * - coarsest보다 큰 단위는 쓰지 않음 (월별 추이면 MONTH → 연 행이 섞이지 않음)
+     */
+    @Transactional(readOnly = true)
+    public List<RollupSlice> collect(String ownerId, LocalDate start, LocalDate end, Long categoryId,
+                                     LedgerRollupPeriod coarsest) {
+        List<RollupSlice> slices = new ArrayList<>();
+        for (Segment segment : decompose(start, end, coarsest)) {
+            if (segment.period() == LedgerRollupPeriod.DAY) {
+                List<LedgerDailyRollup> rows = categoryId == null
+                        ? dailyRollupRepository.findByOwnerIdAndDateBetween(ownerId, segment.from(), segment.to())
+                        : dailyRollupRepository.findByOwnerIdAndCategoryIdAndDateBetween(
+                        ownerId, categoryId, segment.from(), segment.to());
+                rows.forEach(row -> slices.add(new RollupSlice(LedgerRollupPeriod.DAY, row.getDate(),
+                        row.getCategoryId(), row.getFlowType(), row.getTotal(), row.getCount())));
+            } else {
+                List<LedgerPeriodRollup> rows = categoryId == null
+                        ? periodRollupRepository.findByOwnerIdAndPeriodAndPeriodStartBetween(
+                        ownerId, segment.period(), segment.from(), segment.to())
+                        : periodRollupRepository.findByOwnerIdAndPeriodAndCategoryIdAndPeriodStartBetween(
+                        ownerId, segment.period(), categoryId, segment.from(), segment.to());
+                rows.forEach(row -> slices.add(new RollupSlice(row.getPeriod(), row.getPeriodStart(),
+                        row.getCategoryId(), row.getFlowType(), row.getTotal(), row.getCount())));
+            }
+        }
+        return slices;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerDailyRollupRepository.DailyFlowTotal> dailyTotals(String ownerId, LocalDate start, LocalDate end,
+                                                                        Long categoryId) {
+        return dailyRollupRepository.sumByDate(ownerId, start, end, categoryId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        if (dailyRollupRepository.count() == 0 || periodRollupRepository.count() == 0) {
+            rebuildRollups();
+        }
+    }
+
+    @Scheduled(cron = "${app.ledger.rollup-rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        rebuildRollups();
+    }
+
+    static List<Segment> decompose(LocalDate start, LocalDate end, LedgerRollupPeriod coarsest) {
+        List<Segment> segments = new ArrayList<>();
+        LocalDate cursor = start;
+        while (!cursor.isAfter(end)) {
+            LedgerRollupPeriod period = widestAt(cursor, end, coarsest);
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && last.period() == period) {
+                segments.set(segments.size() - 1, new Segment(period, last.from(), cursor));
+            } else {
+                segments.add(new Segment(period, cursor, cursor));
+            }
+            cursor = next(cursor, period);
+        }
+        return segments;
+    }
+
+    static LocalDate truncate(LocalDate date, LedgerRollupPeriod period) {
+        return switch (period) {
+            case DAY -> date;
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    static LocalDate next(LocalDate periodStart, LedgerRollupPeriod period) {
+        return switch (period) {
+            case DAY -> periodStart.plusDays(1);
+            case MONTH -> periodStart.plusMonths(1);
+            case YEAR -> periodStart.plusYears(1);
+        };
+    }
+
+    /** cursor에서 시작해 end 안에 통째로 들어가는 가장 큰 단위 */
+    static LedgerRollupPeriod widestAt(LocalDate cursor, LocalDate end, LedgerRollupPeriod coarsest) {
+        for (LedgerRollupPeriod period : COARSE_PERIODS) {
+            if (period.compareTo(coarsest) <= 0
+                    && truncate(cursor, period).equals(cursor)
+                    && !next(cursor, period).isAfter(end.plusDays(1))) {
+                return period;
+            }
+        }
+        return LedgerRollupPeriod.DAY;
+    }
+
+    /** 여러 거래를 (날짜, 카테고리, 수입/지출)로 미리 묶어 한 번에 더할 때 (대량 가져오기) */
+    @Transactional
+    public void addTotals(String ownerId, LocalDate date, Long categoryId, LedgerFlowType flowType,
+                          BigDecimal amount, long count) {
+        applyDelta(ownerId, date, categoryId, flowType.name(), amount, count);
+    }
+
+    private void apply(LedgerTransaction transaction, int sign) {
+        String flowType = transaction.getFlowType().name();
+        Long categoryId = transaction.getCategory().getId();
+        LocalDate date = transaction.getTransactionDate();
+        BigDecimal amount = sign > 0 ? transaction.getAmount() : transaction.getAmount().negate();
+
+        applyDelta(transaction.getOwnerId(), date, categoryId, flowType, amount, sign);
+        if (sign < 0) {
+            dailyRollupRepository.deleteIfEmpty(date, categoryId, flowType);
+            for (LedgerRollupPeriod period : COARSE_PERIODS) {
+                periodRollupRepository.deleteIfEmpty(period.name(), truncate(date, period), categoryId, flowType);
+            }
+        }
+    }
+
+    private void applyDelta(String ownerId, LocalDate date, Long categoryId, String flowType,
+                            BigDecimal amount, long count) {
+        dailyRollupRepository.addDelta(ownerId, date, categoryId, flowType, amount, count);
+        for (LedgerRollupPeriod period : COARSE_PERIODS) {
+            periodRollupRepository.addDelta(ownerId, period.name(), truncate(date, period), categoryId, flowType,
+                    amount, count);
+        }
+    }
+
+    private void rebuildRollups() {
+        Set<String> owners = new LinkedHashSet<>(dailyRollupRepository.findRollupOwners());
+        owners.addAll(periodRollupRepository.findRollupOwners());
+        int[] rows = new int[3];
+        for (String ownerId : owners) {
+            int[] owned = rebuild(ownerId);
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] += owned[i];
+            }
+        }
+        log.info("Rebuilt ledger rollups: {} daily, {} monthly, {} yearly rows", rows[0], rows[1], rows[2]);
+    }
+
+    /**
+     * 사용자 한 명: 연도마다 거래 구간을 잠그고 일 · 월 · 연 행을 지우고 다시 넣기를 한 트랜잭션으로
+     * - 반환: {일, 월, 연} 행 수
+     */
+    int[] rebuild(String ownerId) {
+        Set<Integer> years = new TreeSet<>();
+        dailyRollupRepository.findRollupYears(ownerId).forEach(year -> years.add(year.intValue()));
+        periodRollupRepository.findRollupYears(ownerId).forEach(year -> years.add(year.intValue()));
+        int[] rows = new int[3];
+        for (int year : years) {
+            LocalDate start = LocalDate.ofYearDay(year, 1);
+            LocalDate end = start.plusYears(1).minusDays(1);
+            int[] yearRows = writeTransaction.execute(status -> {
+                dailyRollupRepository.lockTransactions(ownerId, start, end);
+                dailyRollupRepository.deleteByOwnerBetween(ownerId, start, end);
+                periodRollupRepository.deleteByOwnerBetween(ownerId, start, end);
+                return new int[]{
+                        dailyRollupRepository.insertFromTransactions(ownerId, start, end),
+                        periodRollupRepository.insertMonthsFromDaily(ownerId, start, end),
+                        periodRollupRepository.insertYearsFromMonths(ownerId, start, end)
+                };
+            });
+            for (int i = 0; yearRows != null && i < rows.length; i++) {
+                rows[i] += yearRows[i];
+            }
+        }
+        return rows;
+    }
+}
@@ -3,11 +3,15 @@ package com.foongdoll.server.ledger.service;
 import com.foongdoll.server.ledger.domain.LedgerCategory;
 import com.foongdoll.server.ledger.domain.LedgerCategoryField;
 import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerRollupPeriod;
 import com.foongdoll.server.ledger.domain.LedgerTransaction;
 import com.foongdoll.server.ledger.model.LedgerDtos;
 import com.foongdoll.server.ledger.repository.LedgerCategoryRepository;
+import com.foongdoll.server.ledger.repository.LedgerDailyRollupRepository;
 import com.foongdoll.server.ledger.repository.LedgerTransactionRepository;
+import com.foongdoll.server.ledger.repository.LedgerTransactionRepositoryCustom;
 import com.foongdoll.server.ledger.repository.LedgerTransactionSpecifications;
+import com.foongdoll.server.security.service.SecurityUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,12 +22,10 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -32,48 +34,80 @@ public class LedgerService {
 
     private final LedgerCategoryRepository categoryRepository;
     private final LedgerTransactionRepository transactionRepository;
+    private final LedgerRollupService rollupService;
+    private final LedgerCategoryCache categoryCache;
+    private final LedgerFieldIndexService fieldIndexService;
+
+    /* ===================== 공통 유틸: 현재 사용자 ===================== */
+
+    /** 가계부 소유자 = 로그인 사용자 nickname (노트와 같은 기준, 가져오기/내보내기에서도 사용) */
+    static String currentOwnerId() {
+        var principal = SecurityUtils.getAuthenticatedUser();
+        if (principal == null) {
+            throw new IllegalStateException("인증된 사용자가 없습니다.");
+        }
+        return principal.getNickname();
+    }
+
+    /* ===================== 카테고리 (내 카테고리만) ===================== */
 
     @Transactional(readOnly = true)
     public List<LedgerDtos.CategoryResponse> getCategories() {
-        return categoryRepository.findAll(Sort.by(Sort.Direction.ASC, "name"))
-                .stream()
-                .map(this::toCategoryResponse)
+        return categoryCache.get(currentOwnerId()).sortedByName().stream()
+                .map(LedgerCategoryCache::copy)
                 .toList();
     }
 
     public LedgerDtos.CategoryResponse createCategory(LedgerDtos.CategoryRequest request) {
+        String ownerId = currentOwnerId();
         LedgerCategory category = LedgerCategory.builder()
+                .ownerId(ownerId)
                 .name(request.getName().trim())
                 .description(request.getDescription())
                 .defaultFlowType(request.getDefaultFlowType())
                 .color(request.getColor())
                 .fields(mapFields(request.getFields()))
                 .build();
+        categoryCache.evict(ownerId);
         return toCategoryResponse(categoryRepository.save(category));
     }
 
     public LedgerDtos.CategoryResponse updateCategory(Long id, LedgerDtos.CategoryRequest request) {
-        LedgerCategory category = categoryRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을 수 없습니다."));
+        String ownerId = currentOwnerId();
+        LedgerCategory category = findCategory(id, ownerId);
+        Map<String, LedgerCategoryField.FieldType> previousTypes = fieldTypes(category.getFields());
         category.setName(request.getName().trim());
         category.setDescription(request.getDescription());
         category.setDefaultFlowType(request.getDefaultFlowType());
         category.setColor(request.getColor());
         category.setFields(mapFields(request.getFields()));
-        return toCategoryResponse(categoryRepository.save(category));
+        categoryCache.evict(ownerId);
+        LedgerCategory saved = categoryRepository.save(category);
+        LedgerDtos.CategoryResponse response = toCategoryResponse(saved);
+        // 항목 키/타입이 바뀌면 ledger_tx_field를 새 정의로 다시 만듦 (이름/색상만 바뀐 경우는 생략)
+        if (!previousTypes.equals(fieldTypes(saved.getFields()))) {
+            fieldIndexService.reindexCategory(saved.getId(), LedgerCategoryCache.fieldMap(saved.getFields()));
+        }
+        return response;
     }
 
     public void deleteCategory(Long id) {
+        String ownerId = currentOwnerId();
+        LedgerCategory category = findCategory(id, ownerId);
         if (transactionRepository.existsByCategoryId(id)) {
             throw new IllegalStateException("카테고리에 연결된 거래가 있어 삭제할 수 없습니다.");
         }
-        categoryRepository.deleteById(id);
+        categoryRepository.delete(category);
+        categoryCache.evict(ownerId);
     }
 
+    /* ===================== 거래 (내 거래만) ===================== */
+
     public LedgerDtos.TransactionResponse createTransaction(LedgerDtos.TransactionRequest request) {
-        LedgerCategory category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을 수 없습니다."));
+        String ownerId = currentOwnerId();
+        LedgerCategory category = findCategory(request.getCategoryId(), ownerId);
         LedgerTransaction transaction = LedgerTransaction.builder()
+                .ownerId(ownerId)
                 .category(category)
                 .flowType(request.getFlowType() != null ? request.getFlowType() : category.getDefaultFlowType())
                 .transactionDate(request.getTransactionDate())
@@ -82,14 +116,19 @@ public class LedgerService {
                 .wallet(request.getWallet())
                 .metadata(normalizeMetadata(category, request.getMetadata()))
                 .build();
-        return toTransactionResponse(transactionRepository.save(transaction));
+        LedgerTransaction saved = transactionRepository.save(transaction);
+        rollupService.added(saved);
+        fieldIndexService.index(saved, fieldsOf(category));
+        return toTransactionResponse(saved);
     }
 
     public LedgerDtos.TransactionResponse updateTransaction(Long id, LedgerDtos.TransactionRequest request) {
-        LedgerTransaction transaction = transactionRepository.findById(id)
+        String ownerId = currentOwnerId();
+        LedgerTransaction transaction = transactionRepository.findByIdAndOwnerId(id, ownerId)
                 .orElseThrow(() -> new EntityNotFoundException("거래를 찾을 수 없습니다."));
-        LedgerCategory category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을 수 없습니다."));
+        LedgerCategory category = findCategory(request.getCategoryId(), ownerId);
+        // 롤업은 변경 전 값을 빼고 변경 후 값을 더함
+        rollupService.removed(transaction);
         transaction.setCategory(category);
         transaction.setFlowType(request.getFlowType() != null ? request.getFlowType() : category.getDefaultFlowType());
         transaction.setTransactionDate(request.getTransactionDate());
@@ -97,154 +136,237 @@ public class LedgerService {
         transaction.setMemo(request.getMemo());
         transaction.setWallet(request.getWallet());
         transaction.setMetadata(normalizeMetadata(category, request.getMetadata()));
-        return toTransactionResponse(transactionRepository.save(transaction));
+        LedgerTransaction saved = transactionRepository.save(transaction);
+        rollupService.added(saved);
+        fieldIndexService.index(saved, fieldsOf(category));
+        return toTransactionResponse(saved);
     }
 
     public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findByIdAndOwnerId(id, currentOwnerId()).ifPresent(transaction -> {
+            rollupService.removed(transaction);
+            fieldIndexService.remove(transaction.getId());
+            transactionRepository.delete(transaction);
+        });
     }
 
     @Transactional(readOnly = true)
     public LedgerDtos.TransactionListResponse getTransactions(LedgerDtos.TransactionSearchRequest searchRequest) {
-        LocalDate[] range = ensureRange(searchRequest.getStartDate(), searchRequest.getEndDate());
         Pageable pageable = PageRequest.of(
                 Math.max(0, searchRequest.getPage() - 1),
                 searchRequest.getSize(),
                 resolveSort(searchRequest.getSort())
         );
-        Specification<LedgerTransaction> specification = Specification
-                .where(LedgerTransactionSpecifications.between(range[0], range[1]))
-                .and(LedgerTransactionSpecifications.hasCategory(searchRequest.getCategoryId()))
-                .and(LedgerTransactionSpecifications.hasFlowType(searchRequest.getFlowType()))
-                .and(LedgerTransactionSpecifications.containsKeyword(searchRequest.getKeyword()));
+        Specification<LedgerTransaction> specification = searchSpecification(searchRequest);
 
-        Page<LedgerTransaction> page = transactionRepository.findAll(specification, pageable);
+        Page<LedgerTransaction> page = transactionRepository.findPageWithCategory(specification, pageable);
         List<LedgerDtos.TransactionResponse> items = page.getContent()
                 .stream()
                 .map(this::toTransactionResponse)
                 .toList();
 
-        List<LedgerTransaction> totalsSource = transactionRepository.findAll(specification);
-        BigDecimal totalIncome = totalsSource.stream()
-                .filter(tx -> tx.getFlowType() == LedgerFlowType.INCOME)
-                .map(LedgerTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalExpense = totalsSource.stream()
-                .filter(tx -> tx.getFlowType() == LedgerFlowType.EXPENSE)
-                .map(LedgerTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // 합계는 같은 조건으로 DB에서 집계 (전체 거래를 다시 읽지 않음)
+        LedgerTransactionRepositoryCustom.LedgerTotals totals = transactionRepository.sumTotals(specification);
 
         return LedgerDtos.TransactionListResponse.builder()
                 .items(items)
                 .total(page.getTotalElements())
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
+                .totalIncome(totals.income())
+                .totalExpense(totals.expense())
                 .build();
     }
 
     @Transactional(readOnly = true)
     public LedgerDtos.OverviewResponse getOverview(LocalDate start, LocalDate end, Long categoryId) {
+        String ownerId = currentOwnerId();
         LocalDate[] range = ensureRange(start, end);
-        List<LedgerTransaction> transactions = categoryId == null
-                ? transactionRepository.findByTransactionDateBetween(range[0], range[1])
-                : transactionRepository.findByCategoryIdAndTransactionDateBetween(categoryId, range[0], range[1]);
-
-        BigDecimal totalIncome = transactions.stream()
-                .filter(tx -> tx.getFlowType() == LedgerFlowType.INCOME)
-                .map(LedgerTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalExpense = transactions.stream()
-                .filter(tx -> tx.getFlowType() == LedgerFlowType.EXPENSE)
-                .map(LedgerTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<Long, BigDecimal> expenseByCategory = transactions.stream()
-                .filter(tx -> tx.getFlowType() == LedgerFlowType.EXPENSE)
-                .collect(Collectors.groupingBy(tx -> tx.getCategory().getId(),
-                        LinkedHashMap::new,
-                        Collectors.reducing(BigDecimal.ZERO, LedgerTransaction::getAmount, BigDecimal::add)));
-
-        Map<Long, LedgerCategory> categoryMap = transactions.stream()
-                .map(LedgerTransaction::getCategory)
-                .collect(Collectors.toMap(LedgerCategory::getId, c -> c, (left, right) -> left, LinkedHashMap::new));
-
-        List<LedgerDtos.CategoryBreakdown> breakdowns = expenseByCategory.entrySet().stream()
-                .map(entry -> {
-                    LedgerCategory category = categoryMap.get(entry.getKey());
-                    double percentage = totalExpense.compareTo(BigDecimal.ZERO) == 0
-                            ? 0
-                            : entry.getValue().multiply(BigDecimal.valueOf(100))
-                            .divide(totalExpense, 2, RoundingMode.HALF_UP)
-                            .doubleValue();
-                    return LedgerDtos.CategoryBreakdown.builder()
-                            .categoryId(entry.getKey())
-                            .categoryName(category != null ? category.getName() : "기타")
-                            .totalAmount(entry.getValue())
-                            .percentage(percentage)
-                            .build();
-                })
-                .sorted(Comparator.comparing(LedgerDtos.CategoryBreakdown::getTotalAmount).reversed())
-                .toList();
-
-        Map<LocalDate, LedgerDtos.DailySummary> dailyTotals = new LinkedHashMap<>();
-        transactions.forEach(tx -> {
-            LedgerDtos.DailySummary summary = dailyTotals.computeIfAbsent(tx.getTransactionDate(),
-                    date -> LedgerDtos.DailySummary.builder()
-                            .date(date)
-                            .income(BigDecimal.ZERO)
-                            .expense(BigDecimal.ZERO)
-                            .build());
-            if (tx.getFlowType() == LedgerFlowType.INCOME) {
-                summary.setIncome(summary.getIncome().add(tx.getAmount()));
-            } else {
-                summary.setExpense(summary.getExpense().add(tx.getAmount()));
+        // 합계/분류: 구간을 연 · 월 · 일 롤업으로 쪼개 읽음 (1년 구간도 수십 행)
+        // 누적은 minor unit long, BigDecimal은 응답을 만들 때만 (LedgerMoney)
+        LedgerMoney.FlowTotals totals = new LedgerMoney.FlowTotals();
+        Map<Long, LedgerMoney.FlowTotals> byCategory = new LinkedHashMap<>();
+        for (LedgerRollupService.RollupSlice slice
+                : rollupService.collect(ownerId, range[0], range[1], categoryId, LedgerRollupPeriod.YEAR)) {
+            long minor = LedgerMoney.toMinor(slice.total());
+            totals.add(slice.flowType(), minor);
+            if (slice.flowType() != LedgerFlowType.INCOME) {
+                byCategory.computeIfAbsent(slice.categoryId(), id -> new LedgerMoney.FlowTotals())
+                        .add(slice.flowType(), minor);
             }
-        });
+        }
+
+        // 일별 요약: 일별 롤업을 날짜 · 수입/지출로 묶어서 읽음
+        Map<LocalDate, LedgerMoney.FlowTotals> byDate = new TreeMap<>();
+        for (LedgerDailyRollupRepository.DailyFlowTotal row
+                : rollupService.dailyTotals(ownerId, range[0], range[1], categoryId)) {
+            byDate.computeIfAbsent(row.getDate(), date -> new LedgerMoney.FlowTotals())
+                    .add(row.getFlowType(), row.getTotal());
+        }
+        List<LedgerDtos.DailySummary> dailySummaries = new ArrayList<>(byDate.size());
+        byDate.forEach((date, daily) -> dailySummaries.add(LedgerDtos.DailySummary.builder()
+                .date(date)
+                .income(daily.incomeAmount())
+                .expense(daily.expenseAmount())
+                .build()));
+
+        LedgerCategoryCache.Snapshot categories = categoryCache.get(ownerId);
+        List<LedgerDtos.CategoryBreakdown> breakdowns = byCategory.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<Long, LedgerMoney.FlowTotals> entry) -> entry.getValue().expense()).reversed())
+                .map(entry -> LedgerDtos.CategoryBreakdown.builder()
+                        .categoryId(entry.getKey())
+                        .categoryName(categories.entry(entry.getKey())
+                                .map(category -> category.response().getName())
+                                .orElse("기타"))
+                        .totalAmount(entry.getValue().expenseAmount())
+                        .percentage(LedgerMoney.percentage(entry.getValue().expense(), totals.expense()))
+                        .build())
+                .toList();
 
-        List<LedgerTransaction> recent = categoryId == null
-                ? transactionRepository.findTop5ByTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(range[0], range[1])
-                : transactionRepository.findTop5ByCategoryIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(categoryId, range[0], range[1]);
+        List<LedgerTransaction> recent = transactionRepository.findRecentWithCategory(
+                ownerId, range[0], range[1], categoryId, PageRequest.of(0, 5));
 
         return LedgerDtos.OverviewResponse.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .netChange(totalIncome.subtract(totalExpense))
+                .totalIncome(totals.incomeAmount())
+                .totalExpense(totals.expenseAmount())
+                .netChange(LedgerMoney.toDecimal(totals.net()))
                 .categoryBreakdown(breakdowns)
-                .dailySummaries(dailyTotals.values().stream()
-                        .sorted(Comparator.comparing(LedgerDtos.DailySummary::getDate))
-                        .toList())
+                .dailySummaries(dailySummaries)
                 .recentTransactions(recent.stream().map(this::toTransactionResponse).toList())
                 .build();
     }
 
-    private Sort resolveSort(LedgerDtos.LedgerTransactionSort sort) {
+    /**
+     * 기간 추이 (unit 단위 버킷, 거래 없는 버킷은 0)
+     * - 버킷보다 큰 롤업은 쓰지 않고, 구간 경계에 걸친 버킷은 일/월 롤업으로 채움
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerDtos.PeriodSummary> getTrend(LocalDate start, LocalDate end, Long categoryId,
+                                                   LedgerRollupPeriod unit) {
+        LocalDate[] range = ensureRange(start, end);
+        Map<LocalDate, LedgerMoney.FlowTotals> buckets = new LinkedHashMap<>();
+        for (LocalDate bucket = LedgerRollupService.truncate(range[0], unit);
+             !bucket.isAfter(range[1]);
+             bucket = LedgerRollupService.next(bucket, unit)) {
+            buckets.put(bucket, new LedgerMoney.FlowTotals());
+        }
+        for (LedgerRollupService.RollupSlice slice
+                : rollupService.collect(currentOwnerId(), range[0], range[1], categoryId, unit)) {
+            buckets.get(LedgerRollupService.truncate(slice.periodStart(), unit)).add(slice.flowType(), slice.total());
+        }
+        List<LedgerDtos.PeriodSummary> summaries = new ArrayList<>(buckets.size());
+        buckets.forEach((periodStart, bucket) -> summaries.add(LedgerDtos.PeriodSummary.builder()
+                .periodStart(periodStart)
+                .income(bucket.incomeAmount())
+                .expense(bucket.expenseAmount())
+                .build()));
+        return summaries;
+    }
+
+    /** 목록/내보내기 공통 검색 조건 (내 거래, 기간이 없으면 이번 달) */
+    Specification<LedgerTransaction> searchSpecification(LedgerDtos.TransactionSearchRequest searchRequest) {
+        LocalDate[] range = ensureRange(searchRequest.getStartDate(), searchRequest.getEndDate());
+        return Specification
+                .where(LedgerTransactionSpecifications.ownedBy(currentOwnerId()))
+                .and(LedgerTransactionSpecifications.between(range[0], range[1]))
+                .and(LedgerTransactionSpecifications.hasCategory(searchRequest.getCategoryId()))
+                .and(LedgerTransactionSpecifications.hasFlowType(searchRequest.getFlowType()))
+                .and(LedgerTransactionSpecifications.containsKeyword(searchRequest.getKeyword()))
+                .and(fieldSpecification(searchRequest));
+    }
+
+    Sort resolveSort(LedgerDtos.LedgerTransactionSort sort) {
         return switch (sort) {
             case DATE_ASC -> Sort.by(Sort.Direction.ASC, "transactionDate", "id");
             case DATE_DESC -> Sort.by(Sort.Direction.DESC, "transactionDate", "id");
             case AMOUNT_ASC -> Sort.by(Sort.Direction.ASC, "amount");
             case AMOUNT_DESC -> Sort.by(Sort.Direction.DESC, "amount");
+            // 항목 정렬은 fieldSpecification의 ORDER BY 사용
+            case FIELD_ASC, FIELD_DESC -> Sort.unsorted();
         };
     }
 
+    /**
+     * fieldKey 조건/정렬 → ledger_tx_field 서브쿼리
+     * - 항목 타입은 카테고리 정의에서 찾음 (categoryId가 있으면 그 카테고리, 없으면 키를 가진 첫 카테고리)
+     */
+    private Specification<LedgerTransaction> fieldSpecification(LedgerDtos.TransactionSearchRequest request) {
+        String key = request.getFieldKey() == null ? null : request.getFieldKey().trim();
+        boolean fieldSort = request.getSort() == LedgerDtos.LedgerTransactionSort.FIELD_ASC
+                || request.getSort() == LedgerDtos.LedgerTransactionSort.FIELD_DESC;
+        if (key == null || key.isEmpty()) {
+            if (fieldSort) {
+                throw new IllegalArgumentException("정렬할 항목 키를 입력해주세요.");
+            }
+            return null;
+        }
+        LedgerCategoryField.FieldType type = resolveFieldType(request.getCategoryId(), key);
+        String min = trimToNull(request.getFieldMin());
+        String max = trimToNull(request.getFieldMax());
+        String equal = trimToNull(request.getFieldValue());
+
+        Specification<LedgerTransaction> specification;
+        String column;
+        if (LedgerFieldIndexService.isNumeric(type)) {
+            column = "numValue";
+            specification = LedgerTransactionSpecifications.fieldMatches(key, column,
+                    parseFieldValue(min, LedgerFieldIndexService::parseNumber),
+                    parseFieldValue(max, LedgerFieldIndexService::parseNumber),
+                    parseFieldValue(equal, LedgerFieldIndexService::parseNumber));
+        } else if (type == LedgerCategoryField.FieldType.DATE) {
+            column = "dateValue";
+            specification = LedgerTransactionSpecifications.fieldMatches(key, column,
+                    parseFieldValue(min, LedgerFieldIndexService::parseDate),
+                    parseFieldValue(max, LedgerFieldIndexService::parseDate),
+                    parseFieldValue(equal, LedgerFieldIndexService::parseDate));
+        } else {
+            column = "textValue";
+            specification = LedgerTransactionSpecifications.fieldMatches(key, column, min, max, equal);
+        }
+        if (min == null && max == null && equal == null) {
+            specification = null;
+        }
+        if (fieldSort) {
+            Specification<LedgerTransaction> order = LedgerTransactionSpecifications.orderByField(key, column,
+                    request.getSort() == LedgerDtos.LedgerTransactionSort.FIELD_ASC);
+            specification = specification == null ? order : specification.and(order);
+        }
+        return specification;
+    }
+
+    private LedgerCategoryField.FieldType resolveFieldType(Long categoryId, String key) {
+        LedgerCategoryCache.Snapshot categories = categoryCache.get(currentOwnerId());
+        Optional<LedgerCategoryField> field = categoryId != null
+                ? categories.entry(categoryId).map(entry -> entry.fieldsByKey().get(key))
+                : categories.byId().values().stream()
+                .map(entry -> entry.fieldsByKey().get(key))
+                .filter(Objects::nonNull)
+                .findFirst();
+        return field.map(LedgerCategoryField::getFieldType)
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 항목입니다: " + key));
+    }
+
+    private static <T> T parseFieldValue(String value, Function<Object, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        T parsed = parser.apply(value);
+        if (parsed == null) {
+            throw new IllegalArgumentException("항목 값 형식이 올바르지 않습니다: " + value);
+        }
+        return parsed;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private LedgerCategory findCategory(Long id, String ownerId) {
+        return categoryRepository.findByIdAndOwnerId(id, ownerId)
+                .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을 수 없습니다."));
+    }
+
     private LedgerDtos.CategoryResponse toCategoryResponse(LedgerCategory category) {
-        return LedgerDtos.CategoryResponse.builder()
-                .id(category.getId())
-                .name(category.getName())
-                .description(category.getDescription())
-                .defaultFlowType(category.getDefaultFlowType())
-                .color(category.getColor())
-                .fields(category.getFields().stream()
-                        .map(field -> LedgerDtos.CategoryFieldDto.builder()
-                                .key(field.getKey())
-                                .label(field.getLabel())
-                                .fieldType(field.getFieldType())
-                                .required(field.isRequired())
-                                .options(field.getOptions() != null ? List.copyOf(field.getOptions()) : List.of())
-                                .build())
-                        .toList())
-                .createdAt(category.getCreatedAt())
-                .updatedAt(category.getUpdatedAt())
-                .build();
+        return LedgerCategoryCache.toResponse(category);
     }
 
     private LedgerDtos.TransactionResponse toTransactionResponse(LedgerTransaction transaction) {
@@ -256,12 +378,33 @@ public class LedgerService {
                 .memo(transaction.getMemo())
                 .wallet(transaction.getWallet())
                 .metadata(transaction.getMetadata())
-                .category(toCategoryResponse(transaction.getCategory()))
+                .category(cachedCategoryResponse(transaction.getOwnerId(), transaction.getCategory()))
                 .createdAt(transaction.getCreatedAt())
                 .updatedAt(transaction.getUpdatedAt())
                 .build();
     }
 
+    /** 캐시된 카테고리 응답의 복사본 (id만 읽으므로 지연 로딩 프록시를 초기화하지 않음) */
+    private LedgerDtos.CategoryResponse cachedCategoryResponse(String ownerId, LedgerCategory category) {
+        return categoryCache.get(ownerId).entry(category.getId())
+                .map(LedgerCategoryCache.Entry::copyOfResponse)
+                .orElseGet(() -> toCategoryResponse(category));
+    }
+
+    private Map<String, LedgerCategoryField> fieldsOf(LedgerCategory category) {
+        return categoryCache.get(category.getOwnerId()).entry(category.getId())
+                .map(LedgerCategoryCache.Entry::fieldsByKey)
+                .orElseGet(() -> LedgerCategoryCache.fieldMap(category.getFields()));
+    }
+
+    private static Map<String, LedgerCategoryField.FieldType> fieldTypes(List<LedgerCategoryField> fields) {
+        Map<String, LedgerCategoryField.FieldType> types = new HashMap<>();
+        if (fields != null) {
+            fields.forEach(field -> types.put(field.getKey(), field.getFieldType()));
+        }
+        return types;
+    }
+
     private List<LedgerCategoryField> mapFields(List<LedgerDtos.CategoryFieldDto> fieldDtos) {
         if (fieldDtos == null) {
             return new ArrayList<>();
@@ -285,18 +428,21 @@ public class LedgerService {
     }
 
     private Map<String, Object> normalizeMetadata(LedgerCategory category, Map<String, Object> metadata) {
+        return normalizeMetadata(fieldsOf(category), metadata);
+    }
+
+    /** 카테고리에 정의된 항목만 남기고 필수 항목 누락 시 IllegalArgumentException (가져오기에서도 사용) */
+    static Map<String, Object> normalizeMetadata(Map<String, LedgerCategoryField> fieldMap, Map<String, Object> metadata) {
         if (metadata == null) {
             metadata = Collections.emptyMap();
         }
-        Map<String, LedgerCategoryField> fieldMap = category.getFields().stream()
-                .collect(Collectors.toMap(LedgerCategoryField::getKey, f -> f));
         Map<String, Object> normalized = new LinkedHashMap<>();
         metadata.forEach((key, value) -> {
             if (fieldMap.containsKey(key) && value != null) {
                 normalized.put(key, value);
             }
         });
-        category.getFields().stream()
+        fieldMap.values().stream()
                 .filter(LedgerCategoryField::isRequired)
                 .forEach(field -> {
                     if (!normalized.containsKey(field.getKey())) {
@@ -0,0 +1,163 @@
+package com.foongdoll.server.note.controller;
+
+import com.foongdoll.server.note.service.NoteAssetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 노트 이미지 제공: /uploads/note/ab/cd/<hash>.png[?w=320]
+ * - content-addressed 파일은 해시 ETag + 1년 immutable 캐시, 예전 파일은 약한 ETag + 짧은 캐시
+ * - If-None-Match → 304, 단일 Range(If-Range 포함) → 206 / 416
+ * - 본문은 컨테이너 sendfile(지원 시) 또는 FileChannel.transferTo 로 커널에서 바로 복사 (힙 버퍼 없음)
+ * - 모든 응답에 nosniff, SVG는 스크립트를 담을 수 있어 CSP sandbox (직접 열어도 스크립트/외부 리소스 차단)
+ */
+@RestController
+public class NoteAssetController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl SHORT_LIVED = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final MediaType SVG = MediaType.valueOf("image/svg+xml");
+    private static final String SVG_POLICY = "default-src 'none'; style-src 'unsafe-inline'; sandbox";
+
+    private final NoteAssetService noteAssetService;
+
+    public NoteAssetController(NoteAssetService noteAssetService) {
+        this.noteAssetService = noteAssetService;
+    }
+
+    @RequestMapping(value = "${app.note.asset-base-uri:/uploads/note}/{*path}",
+            method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable String path,
+                      @RequestParam(value = "w", required = false) Integer width,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        NoteAssetService.ServedAsset asset =
+                noteAssetService.resolveForServing(path.startsWith("/") ? path.substring(1) : path, width);
+
+        response.setHeader(HttpHeaders.ETAG, asset.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (asset.immutable() ? IMMUTABLE : SHORT_LIVED).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), asset.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            noteAssetService.recordNotModified();
+            return;
+        }
+
+        long length = asset.size();
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.hasText(rangeHeader) && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), asset.etag())) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // 다중 범위(multipart/byteranges)는 이미지에 쓸 일이 없어 전체 응답으로 대체
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                long rangeStart = range.getRangeStart(length);
+                long rangeEnd = range.getRangeEnd(length);
+                if (length == 0 || rangeStart >= length || rangeStart > rangeEnd) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                start = rangeStart;
+                end = rangeEnd;
+                partial = true;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        MediaType contentType = MediaTypeFactory.getMediaType(asset.path().getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(contentType.toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (SVG.includes(contentType)) {
+            response.setHeader("Content-Security-Policy", SVG_POLICY);
+        }
+        response.setContentLengthLong(count);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count <= 0) {
+            noteAssetService.recordServed(0, partial);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 컨테이너가 응답 커밋 후 sendfile(2)로 직접 전송
+            request.setAttribute(SENDFILE_FILENAME, asset.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+        } else {
+            transfer(asset, start, count, response);
+        }
+        noteAssetService.recordServed(count, partial);
+    }
+
+    private static void transfer(NoteAssetService.ServedAsset asset, long start, long count,
+                                 HttpServletResponse response) throws IOException {
+        try (FileChannel file = FileChannel.open(asset.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) break; // 파일이 도중에 줄어든 경우
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    /** If-None-Match: 약한 비교 (W/ 접두사 무시), "*" 허용 */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) return false;
+        String target = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(target)) return true;
+        }
+        return false;
+    }
+
+    /** If-Range: 강한 ETag가 정확히 일치할 때만 범위 응답 (날짜 형식/약한 ETag면 전체 응답) */
+    private static boolean rangeApplies(String ifRange, String etag) {
+        if (!StringUtils.hasText(ifRange)) return true;
+        return !etag.startsWith("W/") && ifRange.trim().equals(etag);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
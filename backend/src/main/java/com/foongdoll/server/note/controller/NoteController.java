@@ -3,11 +3,18 @@ package com.foongdoll.server.note.controller;
 import com.foongdoll.server.common.response.ApiResponse;
 import com.foongdoll.server.note.model.Dtos;
 import com.foongdoll.server.note.service.NoteAssetService;
+import com.foongdoll.server.note.service.NoteCategoryCache;
 import com.foongdoll.server.note.service.NoteService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -29,18 +36,46 @@ public class NoteController {
             @RequestParam(defaultValue = "6") int pageSize,         // 항상 6
             @RequestParam(required = false) String q,               // 제목/내용 검색어
             @RequestParam(required = false) String categoryCode,    // 특정 카테고리(해당 노드 또는 하위 포함)
-            @RequestParam(required = false) String categoryPath     // 직접 path로 필터링하고 싶을 때
+            @RequestParam(required = false) String categoryPath,    // 직접 path로 필터링하고 싶을 때
+            @RequestParam(required = false) List<String> tags,      // tags=a,b 또는 tags=a&tags=b
+            @RequestParam(defaultValue = "and") String tagMode      // and: 모두 포함 / or: 하나라도 포함
     ) {
-        Dtos.NoteListResponse res = noteService.getNotes(page, pageSize, q, categoryCode, categoryPath);
+        Dtos.NoteListResponse res = noteService.getNotes(page, pageSize, q, categoryCode, categoryPath, tags, tagMode);
         return ResponseEntity.ok(ApiResponse.success(res));
     }
 
+    /* -------------------- TAGS: 태그 클라우드 -------------------- */
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<List<Dtos.TagCloudItem>>> getTagCloud(
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.getTagCloud(limit)));
+    }
+
     /* -------------------- NOTE: DETAIL -------------------- */
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Dtos.NoteDetailResponse>> getNote(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success(noteService.getNote(id)));
     }
 
+    @GetMapping("/{id}/related")
+    public ResponseEntity<ApiResponse<List<Dtos.RelatedNote>>> getRelatedNotes(@PathVariable Long id,
+                                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.getRelatedNotes(id, limit)));
+    }
+
+    /* -------------------- NOTE: REVISIONS -------------------- */
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<ApiResponse<List<Dtos.NoteRevisionSummary>>> getRevisions(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.getRevisions(id)));
+    }
+
+    @GetMapping("/{id}/revisions/{revision}")
+    public ResponseEntity<ApiResponse<Dtos.NoteRevisionResponse>> getRevision(@PathVariable Long id,
+                                                                             @PathVariable int revision) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.getRevision(id, revision)));
+    }
+
     /* -------------------- NOTE: CREATE -------------------- */
     @PostMapping
     public ResponseEntity<ApiResponse<Dtos.NoteDetailResponse>> createNote(@RequestBody Dtos.NoteCreateRequest req) {
@@ -63,12 +98,33 @@ public class NoteController {
         return ResponseEntity.ok(ApiResponse.success(null));
     }
 
+    /* -------------------- NOTE: EXPORT (NDJSON 스트리밍) -------------------- */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNotes() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"notes.ndjson\"")
+                .body(noteService.exportNotes());
+    }
+
+    /* -------------------- NOTE: IMPORT (NDJSON) -------------------- */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<Dtos.NoteImportResponse>> importNotes(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(ApiResponse.success(noteService.importNotes(file)));
+    }
+
     /* ==================== CATEGORY: CRUD ==================== */
 
-    /* 트리 전체 조회 */
+    /* 트리 전체 조회 (ETag 일치 시 304) */
     @GetMapping("/categories")
-    public ResponseEntity<ApiResponse<List<Dtos.CategoryNode>>> getCategoryTree() {
-        return ResponseEntity.ok(ApiResponse.success(noteService.getCategoryTree()));
+    public ResponseEntity<ApiResponse<List<Dtos.CategoryNode>>> getCategoryTree(WebRequest webRequest) {
+        NoteCategoryCache.Snapshot snapshot = noteService.getCategorySnapshot();
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .body(ApiResponse.success(snapshot.tree()));
     }
 
     /* 단건 조회 */
@@ -99,8 +155,21 @@ public class NoteController {
         return ResponseEntity.ok(ApiResponse.success(null));
     }
 
-    @PostMapping("/assets")
+    /* 이미지 제공 통계 (요청 수 / 304 / Range / 전송 바이트) - 서버 전체 값이라 관리자만 (SecurityConfig) */
+    @GetMapping("/assets/stats")
+    public ResponseEntity<ApiResponse<Dtos.AssetServeStats>> getAssetStats() {
+        return ResponseEntity.ok(ApiResponse.success(noteAssetService.getServeStats()));
+    }
+
+    @PostMapping(value = "/assets", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<Dtos.AssetUploadResponse>> uploadAsset(@RequestParam("file") MultipartFile file) {
         return ResponseEntity.ok(ApiResponse.success(noteAssetService.uploadImage(file)));
     }
+
+    /* 본문 그대로 업로드: multipart 파싱/버퍼링 없이 요청 스트림을 바로 저장 */
+    @PostMapping(value = "/assets", consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ApiResponse<Dtos.AssetUploadResponse>> uploadAssetStream(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(ApiResponse.success(
+                noteAssetService.uploadImage(request.getInputStream(), request.getContentLengthLong())));
+    }
 }
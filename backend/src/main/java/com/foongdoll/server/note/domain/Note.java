@@ -2,6 +2,7 @@ package com.foongdoll.server.note.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -70,12 +71,14 @@ public class Note {
             joinColumns = @JoinColumn(name = "note_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
+    @BatchSize(size = 100)
     @Builder.Default
     private Set<Tag> tags = new HashSet<>();
 
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "note_sections", joinColumns = @JoinColumn(name = "note_id"))
-    @OrderBy("sortOrder ASC")
+    @OrderColumn(name = "sort_order") // 위치 = sort_order → 섹션 수정 시 바뀐 행만 UPDATE
+    @BatchSize(size = 100)
     @Builder.Default
     private List<NoteSection> sections = new ArrayList<>();
 
@@ -0,0 +1,57 @@
+package com.foongdoll.server.note.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 노트 본문 리비전
+ * - snapshot=true: data = 본문 전체(압축)
+ * - snapshot=false: data = 직전 리비전 대비 줄 단위 delta(압축)
+ * 복원은 가장 가까운 이전 스냅샷부터 delta를 차례로 적용
+ */
+@Entity
+@Table(name = "note_revisions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_note_revision", columnNames = {"note_id", "revision"}))
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class NoteRevision {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "note_id", nullable = false)
+    private Long noteId;
+
+    @Column(nullable = false)
+    private int revision;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    /** 복원된 본문 길이(문자 수) */
+    @Column(name = "content_length", nullable = false)
+    private int contentLength;
+
+    /** 압축 후 저장 크기(바이트) */
+    @Column(name = "stored_bytes", nullable = false)
+    private int storedBytes;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        if (this.createdAt == null) this.createdAt = LocalDateTime.now();
+    }
+}
@@ -25,6 +25,5 @@ public class NoteSection {
     @Column(name = "description", columnDefinition = "LONGTEXT")
     private String description;
 
-    @Column(name = "sort_order")
-    private Integer sortOrder;
+    // 순서(sort_order)는 Note.sections의 @OrderColumn만 매핑 → 목록 위치가 곧 순서
 }
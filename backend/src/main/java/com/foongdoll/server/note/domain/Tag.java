@@ -4,10 +4,18 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
+/**
+ * 사용자별 태그
+ * - name: 처음 입력한 표기 그대로, nameKey: 비교용 소문자 키
+ * - (owner_id, name_key) 유니크 → 같은 사용자 안에서 대소문자만 다른 태그는 하나
+ * - owner_id가 생기기 전의 전역 태그는 TagOwnerMigration이 시작 시 작성자별 태그로 옮김
+ */
 @Entity
-@Table(name = "tags")
+@Table(name = "tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tag_owner_key", columnNames = {"owner_id", "name_key"}))
 @Getter
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -18,10 +26,21 @@ public class Tag {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(name = "owner_id", nullable = false, length = 50)
+    private String ownerId;
+
+    @Column(nullable = false, length = 50)
     private String name;
 
+    @Column(name = "name_key", nullable = false, length = 50)
+    private String nameKey;
+
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
     @Builder.Default
     private Set<Note> notes = new HashSet<>();
+
+    public static String keyOf(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        return key.length() > 50 ? key.substring(0, 50) : key;
+    }
 }
@@ -0,0 +1,32 @@
+package com.foongdoll.server.note.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 태그 사용 횟수 (태그 클라우드용, syncTags에서 증감)
+ * 목록을 볼 때마다 note_tags를 GROUP BY 하지 않기 위한 카운터 테이블
+ */
+@Entity
+@Table(name = "tag_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tag_count_owner_tag", columnNames = {"owner_id", "tag_id"}),
+        indexes = @Index(name = "ix_tag_count_owner_count", columnList = "owner_id, note_count"))
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TagCount {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false, length = 50)
+    private String ownerId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tag_id")
+    private Tag tag;
+
+    @Column(name = "note_count", nullable = false)
+    private int noteCount;
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,6 +52,41 @@ public class Dtos {
         private List<String> tags = new ArrayList<>();
         @Builder.Default
         private List<NoteSectionBlock> sections = new ArrayList<>();
+        @Builder.Default
+        private List<RelatedNote> related = new ArrayList<>();  // 상세 조회에서만 채움
+    }
+
+    @Getter @Setter @Builder
+    public static class RelatedNote {
+        private Long id;
+        private String title;
+        private String categoryPath;
+        private double score;   // 0~1
+    }
+
+    @Getter @Setter @Builder
+    public static class TagCloudItem {
+        private String name;
+        private int noteCount;
+    }
+
+    @Getter @Setter @Builder
+    public static class NoteRevisionSummary {
+        private int revision;
+        private String title;
+        private int contentLength;
+        private int storedBytes;      // 압축 저장 크기
+        private boolean snapshot;     // false면 직전 리비전 대비 delta
+        private LocalDateTime createdAt;
+    }
+
+    @Getter @Setter @Builder
+    public static class NoteRevisionResponse {
+        private Long noteId;
+        private int revision;
+        private String title;
+        private String content;
+        private LocalDateTime createdAt;
     }
 
     @Getter @Setter
@@ -101,6 +137,8 @@ public class Dtos {
         private Integer depth;
         private Integer sortOrder;
         private Long parentId;
+        private Long noteCount;        // 이 노드에 직접 속한 노트 수 (트리 조회 시에만 채움)
+        private Long subtreeNoteCount; // 하위 포함 노트 수
         @Builder.Default
         private List<CategoryNode> children = new ArrayList<>();
     }
@@ -123,6 +161,26 @@ public class Dtos {
         private Boolean detachParent; // true면 부모 제거(루트로)
     }
 
+    @Getter
+    @Setter
+    @Builder
+    public static class NoteImportResponse {
+        private int imported;
+        private int failed;
+        @Builder.Default
+        private List<String> errors = new ArrayList<>(); // "12행: ..." (최대 100개)
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    public static class AssetServeStats {
+        private long requests;     // 304 포함
+        private long notModified;
+        private long partial;      // Range 응답 수
+        private long bytesServed;
+    }
+
     @Getter
     @Setter
     @Builder
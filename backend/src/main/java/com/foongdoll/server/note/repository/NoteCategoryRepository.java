@@ -2,6 +2,9 @@ package com.foongdoll.server.note.repository;
 
 import com.foongdoll.server.note.domain.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +19,19 @@ public interface NoteCategoryRepository extends JpaRepository<Category, Long> {
 
     // 부모/자식 체크할 때도 내 것만 (deleteCategory에서 활용 가능)
     boolean existsByOwnerIdAndParentId(String ownerId, Long parentId);
+
+    /** 하위 트리 이동: oldPath 아래 모든 후손의 path 접두사 교체 + depth 보정 (단일 UPDATE) */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Category c
+               SET c.path = CONCAT(:newPath, SUBSTRING(c.path, :cut)),
+                   c.depth = c.depth + :depthDelta
+             WHERE c.ownerId = :ownerId
+               AND c.path LIKE :descendantPattern ESCAPE '!'
+            """)
+    int rewriteDescendantPaths(@Param("ownerId") String ownerId,
+                               @Param("descendantPattern") String descendantPattern,
+                               @Param("newPath") String newPath,
+                               @Param("cut") int cut,
+                               @Param("depthDelta") int depthDelta);
 }
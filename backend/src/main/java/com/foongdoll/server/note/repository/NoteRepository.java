@@ -1,9 +1,180 @@
 package com.foongdoll.server.note.repository;
 
 import com.foongdoll.server.note.domain.Note;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface NoteRepository extends JpaRepository<Note, Long>, JpaSpecificationExecutor<Note> {
     boolean existsByCategoryId(Long categoryId);
+
+    boolean existsByIdAndAuthor(Long id, String author);
+
+    /**
+     * 상세 조회 1단계: 노트 + 카테고리 + 태그를 한 번에 (내 노트만)
+     * sections까지 같이 join하면 태그×섹션 곱만큼 행이 불어나므로 별도 쿼리로 분리
+     */
+    @Query("""
+            SELECT n FROM Note n
+              JOIN FETCH n.category
+              LEFT JOIN FETCH n.tags
+             WHERE n.id = :id
+               AND n.author = :ownerId
+            """)
+    Optional<Note> findDetailById(@Param("id") Long id, @Param("ownerId") String ownerId);
+
+    /**
+     * 수정 시작 시 노트 행 잠금 (SELECT ... FOR UPDATE, 내 노트만)
+     * - 같은 노트를 동시에 저장하면 뒤 요청은 앞 요청 커밋까지 대기
+     *   → 리비전 번호와 delta 기준 본문이 항상 직전 커밋 기준
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Note n WHERE n.id = :id AND n.author = :ownerId")
+    Optional<Note> lockOwnNote(@Param("id") Long id, @Param("ownerId") String ownerId);
+
+    /** 상세 조회 2단계: 이미 영속 상태인 노트 인스턴스에 sections(정렬 포함) 채우기 */
+    @Query("""
+            SELECT n FROM Note n
+              LEFT JOIN FETCH n.sections
+             WHERE n.id = :id
+            """)
+    Optional<Note> findWithSectionsById(@Param("id") Long id);
+
+    /** 내보내기용 keyset 커서: afterId 다음부터 id 순으로 한 배치 */
+    @Query("""
+            SELECT n FROM Note n
+             WHERE n.author = :ownerId
+               AND n.id > :afterId
+             ORDER BY n.id
+            """)
+    List<Note> findExportBatch(@Param("ownerId") String ownerId,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    /**
+     * 관련 노트 인덱스 적재용 keyset 배치 (엔티티가 아닌 값만)
+     * 본문은 토큰화에 쓰는 앞부분(maxChars)만 DB에서 잘라 받음 → LONGTEXT 전체를 전송하지 않음
+     */
+    @Query("""
+            SELECT n.id AS id, n.title AS title, SUBSTRING(n.content, 1, :maxChars) AS content,
+                   n.categoryPath AS categoryPath
+              FROM Note n
+             WHERE n.author = :ownerId
+               AND n.id > :afterId
+             ORDER BY n.id
+            """)
+    List<IndexRow> findIndexBatch(@Param("ownerId") String ownerId,
+                                  @Param("afterId") Long afterId,
+                                  @Param("maxChars") int maxChars,
+                                  Pageable pageable);
+
+    @Query("""
+            SELECT n.id AS noteId, t.id AS tagId
+              FROM Note n JOIN n.tags t
+             WHERE n.id IN :noteIds
+            """)
+    List<NoteTagRow> findTagIdsByNoteIds(@Param("noteIds") Collection<Long> noteIds);
+
+    interface IndexRow {
+        Long getId();
+        String getTitle();
+        String getContent();
+        String getCategoryPath();
+    }
+
+    interface NoteTagRow {
+        Long getNoteId();
+        Long getTagId();
+    }
+
+    /** 자산 GC mark 단계: 이 저장소를 가리키는 커버 이미지 URL */
+    @Query("""
+            SELECT DISTINCT n.coverImageUrl FROM Note n
+             WHERE n.coverImageUrl LIKE :prefix
+            """)
+    List<String> findCoverImageUrls(@Param("prefix") String prefix);
+
+    /** 자산 GC mark 단계: 이 저장소를 가리키는 섹션 이미지 URL */
+    @Query("""
+            SELECT DISTINCT s.imageUrl FROM Note n JOIN n.sections s
+             WHERE s.imageUrl LIKE :prefix
+            """)
+    List<String> findSectionImageUrls(@Param("prefix") String prefix);
+
+    /** 자산 GC mark 단계: id 구간을 나눠 훑기 위한 상한 */
+    @Query("SELECT MAX(n.id) FROM Note n")
+    Long findMaxId();
+
+    /** 자산 GC mark 단계: id 구간 안에서 이 저장소 URL이 들어 있는 본문 (에디터가 넣는 인라인 ![image](url)) */
+    @Query("""
+            SELECT n.content FROM Note n
+             WHERE n.id > :fromId
+               AND n.id <= :toId
+               AND n.content LIKE :pattern
+            """)
+    List<String> findContentsReferencing(@Param("fromId") Long fromId,
+                                         @Param("toId") Long toId,
+                                         @Param("pattern") String pattern);
+
+    /** 자산 GC mark 단계: id 구간 안에서 이 저장소 URL이 들어 있는 섹션 설명 */
+    @Query("""
+            SELECT s.description FROM Note n JOIN n.sections s
+             WHERE n.id > :fromId
+               AND n.id <= :toId
+               AND s.description LIKE :pattern
+            """)
+    List<String> findSectionDescriptionsReferencing(@Param("fromId") Long fromId,
+                                                    @Param("toId") Long toId,
+                                                    @Param("pattern") String pattern);
+
+    /** 카테고리 트리 노트 수 집계용: 경로별 노트 수 (단일 GROUP BY) */
+    @Query("""
+            SELECT n.categoryPath AS path, COUNT(n) AS noteCount
+              FROM Note n
+             WHERE n.author = :ownerId
+             GROUP BY n.categoryPath
+            """)
+    List<PathCount> countByCategoryPath(@Param("ownerId") String ownerId);
+
+    interface PathCount {
+        String getPath();
+        long getNoteCount();
+    }
+
+    /**
+     * 카테고리 하위 트리 이동 시 노트의 denorm 경로 캐시(category_path/top/sub) 일괄 교체 (단일 UPDATE)
+     * - top: 새 경로의 첫 세그먼트
+     * - sub: 새 경로 깊이가 2 이상이면 고정값(:sub), 루트로 올라가면 행마다 기존 경로에서 바로 아래 코드를 잘라냄
+     * - MySQL은 SET을 왼쪽부터 적용하므로 category_path는 마지막에 바꾼다
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Note n
+               SET n.categoryTop = :top,
+                   n.categorySub = CASE
+                       WHEN :sub IS NOT NULL THEN :sub
+                       WHEN n.categoryPath = :oldPath THEN NULL
+                       ELSE SUBSTRING(n.categoryPath, :cut + 1,
+                                      LOCATE('/', CONCAT(n.categoryPath, '/'), :cut + 1) - :cut - 1)
+                   END,
+                   n.categoryPath = CONCAT(:newPath, SUBSTRING(n.categoryPath, :cut))
+             WHERE n.author = :ownerId
+               AND (n.categoryPath = :oldPath OR n.categoryPath LIKE :descendantPattern ESCAPE '!')
+            """)
+    int rewriteCategoryPaths(@Param("ownerId") String ownerId,
+                             @Param("oldPath") String oldPath,
+                             @Param("descendantPattern") String descendantPattern,
+                             @Param("newPath") String newPath,
+                             @Param("cut") int cut,
+                             @Param("top") String top,
+                             @Param("sub") String sub);
 }
@@ -0,0 +1,66 @@
+package com.foongdoll.server.note.repository;
+
+import com.foongdoll.server.note.domain.NoteRevision;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+
+    /** 목록용: data(본문/delta)는 읽지 않음 */
+    @Query("""
+            SELECT r.revision AS revision, r.snapshot AS snapshot, r.title AS title,
+                   r.contentLength AS contentLength, r.storedBytes AS storedBytes, r.createdAt AS createdAt
+              FROM NoteRevision r
+             WHERE r.noteId = :noteId
+             ORDER BY r.revision DESC
+            """)
+    List<RevisionSummary> findSummaries(@Param("noteId") Long noteId);
+
+    Optional<NoteRevision> findTopByNoteIdOrderByRevisionDesc(Long noteId);
+
+    /** 복원 시작점: revision 이하에서 가장 가까운 스냅샷 번호 */
+    @Query("""
+            SELECT MAX(r.revision) FROM NoteRevision r
+             WHERE r.noteId = :noteId
+               AND r.snapshot = true
+               AND r.revision <= :revision
+            """)
+    Integer findBaseSnapshotRevision(@Param("noteId") Long noteId, @Param("revision") int revision);
+
+    List<NoteRevision> findByNoteIdAndRevisionBetweenOrderByRevisionAsc(Long noteId, int from, int to);
+
+    @Modifying
+    @Query("DELETE FROM NoteRevision r WHERE r.noteId = :noteId")
+    int deleteByNoteId(@Param("noteId") Long noteId);
+
+    /** 자산 GC mark용 keyset 배치: 저장된 data만 (노트 구분 없이 id 순) */
+    @Query("""
+            SELECT r.id AS id, r.snapshot AS snapshot, r.data AS data
+              FROM NoteRevision r
+             WHERE r.id > :afterId
+             ORDER BY r.id
+            """)
+    List<StoredData> findDataBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface StoredData {
+        Long getId();
+        boolean getSnapshot();
+        byte[] getData();
+    }
+
+    interface RevisionSummary {
+        int getRevision();
+        boolean getSnapshot();
+        String getTitle();
+        int getContentLength();
+        int getStoredBytes();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -0,0 +1,80 @@
+package com.foongdoll.server.note.repository;
+
+import com.foongdoll.server.note.domain.TagCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagCountRepository extends JpaRepository<TagCount, Long> {
+
+    /** 태그 클라우드: 많이 쓴 순 */
+    @Query("""
+            SELECT t.name AS name, c.noteCount AS noteCount
+              FROM TagCount c JOIN c.tag t
+             WHERE c.ownerId = :ownerId
+               AND c.noteCount > 0
+             ORDER BY c.noteCount DESC, t.name
+            """)
+    List<TagFrequency> findTopByOwner(@Param("ownerId") String ownerId, Pageable pageable);
+
+    /**
+     * 증가: 행이 없으면 만들고 있으면 더함 (동시 저장에도 유니크 키 하나로 원자적)
+     * - VALUES() 대신 행 별칭(new) 사용 (MySQL 8.0.20부터 VALUES()는 deprecated, 8.0.19+ 필요)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tag_counts (owner_id, tag_id, note_count)
+            VALUES (:ownerId, :tagId, :delta) AS new
+            ON DUPLICATE KEY UPDATE note_count = note_count + new.note_count
+            """, nativeQuery = true)
+    int increment(@Param("ownerId") String ownerId, @Param("tagId") Long tagId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("""
+            UPDATE TagCount c
+               SET c.noteCount = c.noteCount - :delta
+             WHERE c.ownerId = :ownerId
+               AND c.tag.id IN :tagIds
+            """)
+    int decrement(@Param("ownerId") String ownerId,
+                  @Param("tagIds") Collection<Long> tagIds,
+                  @Param("delta") int delta);
+
+    @Modifying
+    @Query("DELETE FROM TagCount c WHERE c.ownerId = :ownerId AND c.noteCount <= 0")
+    int deleteEmpty(@Param("ownerId") String ownerId);
+
+    /** 재계산 대상 사용자: 노트가 있거나 카운터 행이 남아 있는 사용자 */
+    @Query(value = """
+            SELECT author FROM notes
+            UNION
+            SELECT owner_id FROM tag_counts
+            """, nativeQuery = true)
+    List<String> findCountOwners();
+
+    /** 사용자 한 명 재계산 (카운터 초기 채우기/보정): 그 사용자 행만 지우고 note_tags 기준으로 다시 넣음 */
+    @Modifying
+    @Query(value = "DELETE FROM tag_counts WHERE owner_id = :ownerId", nativeQuery = true)
+    int deleteByOwner(@Param("ownerId") String ownerId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO tag_counts (owner_id, tag_id, note_count)
+            SELECT n.author, nt.tag_id, COUNT(*)
+              FROM note_tags nt
+              JOIN notes n ON n.id = nt.note_id
+             WHERE n.author = :ownerId
+             GROUP BY n.author, nt.tag_id
+            """, nativeQuery = true)
+    int insertRecounted(@Param("ownerId") String ownerId);
+
+    interface TagFrequency {
+        String getName();
+        int getNoteCount();
+    }
+}
@@ -1,13 +1,44 @@
 package com.foongdoll.server.note.repository;
 
 import com.foongdoll.server.note.domain.Tag;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
-    Optional<Tag> findByName(String name);
-    List<Tag> findByNameIn(Collection<String> names);
+
+    /** (owner_id, name_key) 유니크 인덱스로 바로 찾음 */
+    List<Tag> findByOwnerIdAndNameKeyIn(String ownerId, Collection<String> nameKeys);
+
+    /**
+     * upsert 직후 재조회용 잠금 읽기 (FOR SHARE)
+     * REPEATABLE READ에서 일반 SELECT는 트랜잭션 시작 시점 스냅샷이라 다른 요청이 방금 만든 태그가 안 보일 수 있음
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Tag t WHERE t.ownerId = :ownerId AND t.nameKey IN :nameKeys")
+    List<Tag> lockByOwnerIdAndNameKeyIn(@Param("ownerId") String ownerId,
+                                        @Param("nameKeys") Collection<String> nameKeys);
+
+    /** 목록 필터용: 태그 id만 */
+    @Query("SELECT t.id FROM Tag t WHERE t.ownerId = :ownerId AND t.nameKey IN :nameKeys")
+    List<Long> findIdsByOwnerIdAndNameKeyIn(@Param("ownerId") String ownerId,
+                                            @Param("nameKeys") Collection<String> nameKeys);
+
+    /**
+     * 없으면 생성, 있으면 아무것도 바꾸지 않음
+     * 동시에 같은 태그를 저장해도 유니크 키 충돌이 예외가 아니라 no-op 이 됨
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tags (owner_id, name, name_key)
+            VALUES (:ownerId, :name, :nameKey)
+            ON DUPLICATE KEY UPDATE name_key = name_key
+            """, nativeQuery = true)
+    int upsert(@Param("ownerId") String ownerId, @Param("name") String name, @Param("nameKey") String nameKey);
 }
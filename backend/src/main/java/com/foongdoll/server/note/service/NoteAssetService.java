@@ -1,80 +1,432 @@
 package com.foongdoll.server.note.service;
 
 import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.NoteRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+/**
+ * 노트 이미지 저장소 (content-addressed)
+ * - 업로드 스트림을 임시 파일로 쓰면서 SHA-256 계산 → ab/cd/<hash>.<ext> 로 원자적 이동
+ * - 형식은 클라이언트가 보낸 Content-Type/확장자가 아니라 앞부분 매직 바이트로 판정
+ * - 크기 제한은 읽는 도중에 검사 → 넘는 순간 중단 (전체를 받은 뒤 거절하지 않음)
+ * - 같은 내용은 같은 경로 → 중복 업로드는 디스크를 더 쓰지 않음
+ * - 2단계 샤딩으로 디렉터리당 파일 수를 작게 유지
+ * - 노트(cover/section 이미지, 본문/섹션 설명의 인라인 이미지, 리비전)에서 참조하지 않는 파일은 주기적으로 mark & sweep
+ * - 저장 직후 썸네일/리사이즈 파생본 생성을 비동기로 예약 (NoteAssetVariantService)
+ */
+@Slf4j
 @Service
 public class NoteAssetService {
 
-    private static final Set<String> ALLOWED_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "webp", "svg");
+    private static final String TEMP_DIRECTORY = ".tmp";
+    /** 형식 판정에 쓰는 앞부분 크기 (SVG는 XML 선언/주석 뒤에 <svg가 올 수 있어 넉넉히) */
+    private static final int SNIFF_LENGTH = 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    /** content-addressed 경로: ab/cd/<sha256>.<ext> */
+    private static final String CONTENT_ADDRESSED_PATH = "[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})(\\.[a-z0-9]+)?";
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("^" + CONTENT_ADDRESSED_PATH + "$");
+    /** 본문을 훑을 때 노트 id 구간 크기 */
+    private static final long MARK_ID_RANGE = 500;
 
+    private final NoteRepository noteRepository;
+    private final NoteRevisionService revisionService;
+    private final NoteAssetVariantService variantService;
     private final Path uploadDirectory;
+    private final Path tempDirectory;
     private final String assetBaseUri;
+    /** 텍스트 안의 이 저장소 URL (절대 URL 포함) → 그룹 1이 상대 경로 */
+    private final Pattern assetReference;
     private final long maxFileSize;
+    private final Duration gcGracePeriod;
+
+    private final LongAdder servedRequests = new LongAdder();
+    private final LongAdder servedNotModified = new LongAdder();
+    private final LongAdder servedPartial = new LongAdder();
+    private final LongAdder servedBytes = new LongAdder();
 
     public NoteAssetService(
+            NoteRepository noteRepository,
+            NoteRevisionService revisionService,
+            NoteAssetVariantService variantService,
             @Value("${app.note.upload-dir:uploads/note}") String uploadDir,
             @Value("${app.note.asset-base-uri:/uploads/note}") String assetBaseUri,
-            @Value("${app.note.asset-max-size-bytes:5242880}") long maxFileSize
+            @Value("${app.note.asset-max-size-bytes:5242880}") long maxFileSize,
+            @Value("${app.note.asset-gc-grace-hours:24}") long gcGraceHours
     ) {
+        this.noteRepository = noteRepository;
+        this.revisionService = revisionService;
+        this.variantService = variantService;
         try {
             this.uploadDirectory = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(this.uploadDirectory);
+            this.tempDirectory = this.uploadDirectory.resolve(TEMP_DIRECTORY);
+            Files.createDirectories(this.tempDirectory);
         } catch (IOException e) {
             throw new IllegalStateException("이미지 업로드 경로를 초기화할 수 없습니다.", e);
         }
         this.assetBaseUri = assetBaseUri.endsWith("/") ? assetBaseUri.substring(0, assetBaseUri.length() - 1) : assetBaseUri;
+        this.assetReference = Pattern.compile(Pattern.quote(this.assetBaseUri + "/") + "(" + CONTENT_ADDRESSED_PATH + ")");
         this.maxFileSize = maxFileSize;
+        this.gcGracePeriod = Duration.ofHours(gcGraceHours);
     }
 
+    /** multipart 업로드 (기존 클라이언트 호환). 검사/저장은 스트리밍 경로와 동일 */
     public Dtos.AssetUploadResponse uploadImage(MultipartFile file) {
-        validate(file);
-        String extension = resolveExtension(file.getOriginalFilename());
-        String filename = System.currentTimeMillis() + "-" + UUID.randomUUID() + (extension.isBlank() ? "" : "." + extension);
-        Path target = uploadDirectory.resolve(filename);
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return uploadImage(in, file.getSize());
+        } catch (IOException e) {
+            throw new IllegalStateException("이미지 업로드에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 요청 본문을 그대로 받는 업로드
+     * - declaredLength(Content-Length)가 이미 제한을 넘으면 읽기 전에 거절
+     * - 앞부분 SNIFF_LENGTH 바이트로 형식 판정 → 이미지가 아니면 나머지는 읽지 않음
+     * - 나머지는 임시 파일 채널로 바로 쓰고, 제한을 넘는 순간 중단
+     */
+    public Dtos.AssetUploadResponse uploadImage(InputStream body, long declaredLength) {
+        checkSize(declaredLength);
+        StoredAsset stored;
         try {
-            file.transferTo(target);
+            BufferedInputStream in = new BufferedInputStream(body, SNIFF_LENGTH);
+            in.mark(SNIFF_LENGTH);
+            byte[] head = in.readNBytes(SNIFF_LENGTH);
+            in.reset();
+            if (head.length == 0) {
+                throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+            }
+            ImageType type = ImageType.sniff(head);
+            if (type == null) {
+                throw new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다.");
+            }
+            stored = store(new LimitedInputStream(in, maxFileSize), type);
         } catch (IOException e) {
             throw new IllegalStateException("이미지 업로드에 실패했습니다.", e);
         }
+        variantService.schedule(uploadDirectory.resolve(stored.relativePath()), stored.relativePath());
 
-        String url = assetBaseUri + "/" + filename;
         return Dtos.AssetUploadResponse.builder()
-                .url(url)
-                .filename(filename)
-                .size(file.getSize())
-                .contentType(file.getContentType())
+                .url(assetBaseUri + "/" + stored.relativePath())
+                .filename(stored.filename())
+                .size(stored.size())
+                .contentType(stored.type().contentType)
                 .build();
     }
 
-    private void validate(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+    /**
+     * 서빙할 파일: width가 있으면 캐시된 파생본(없으면 생성 예약 후 원본)
+     * - 원본이 그 폭보다 작거나 너무 커서 파생본을 만들지 않는 경우 원본이 최종 결과 (immutable)
+     * - content-addressed 파일: 해시 기반 강한 ETag + immutable
+     * - 예전 방식(millis-uuid) 파일: 크기/수정시각 기반 약한 ETag
+     * 저장소 밖을 가리키거나 없는 파일이면 EntityNotFoundException
+     */
+    public ServedAsset resolveForServing(String relativePath, Integer width) {
+        Path source = uploadDirectory.resolve(relativePath).normalize();
+        if (!source.startsWith(uploadDirectory) || source.startsWith(tempDirectory)
+                || source.startsWith(variantService.variantRoot()) || !Files.isRegularFile(source)) {
+            throw new EntityNotFoundException("Asset not found: " + relativePath);
+        }
+        String normalized = uploadDirectory.relativize(source).toString().replace('\\', '/');
+        Matcher hashed = CONTENT_ADDRESSED.matcher(normalized);
+        boolean contentAddressed = hashed.matches();
+
+        Optional<Integer> snapped = NoteAssetVariantService.snapWidth(width);
+        Optional<Path> variant = snapped.flatMap(w -> variantService.find(source, normalized, w));
+        Path file = variant.orElse(source);
+        try {
+            long size = Files.size(file);
+            String etag;
+            if (contentAddressed) {
+                etag = "\"" + hashed.group(1) + variant.filter(v -> !v.equals(source))
+                        .map(v -> "-w" + snapped.get()).orElse("") + "\"";
+            } else {
+                etag = "W/\"" + Long.toHexString(size) + "-"
+                        + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+            }
+            // 폭을 요청했는데 아직 원본을 주는 경우는 곧 바뀌므로 immutable 아님
+            boolean immutable = contentAddressed && (snapped.isEmpty() || variant.isPresent());
+            return new ServedAsset(file, size, etag, immutable);
+        } catch (IOException e) {
+            throw new EntityNotFoundException("Asset not found: " + relativePath);
+        }
+    }
+
+    public void recordServed(long bytes, boolean partial) {
+        servedRequests.increment();
+        servedBytes.add(bytes);
+        if (partial) servedPartial.increment();
+    }
+
+    public void recordNotModified() {
+        servedRequests.increment();
+        servedNotModified.increment();
+    }
+
+    public Dtos.AssetServeStats getServeStats() {
+        return Dtos.AssetServeStats.builder()
+                .requests(servedRequests.sum())
+                .notModified(servedNotModified.sum())
+                .partial(servedPartial.sum())
+                .bytesServed(servedBytes.sum())
+                .build();
+    }
+
+    /**
+     * 임시 파일에 쓰면서 해시 계산 → 샤딩 경로로 원자적 이동 (이미 있으면 임시 파일만 삭제)
+     * 임시 파일은 대상과 같은 파일시스템(.tmp)이라 이동은 rename이고 다시 복사하지 않음
+     */
+    private StoredAsset store(InputStream in, ImageType type) throws IOException {
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream out = Channels.newOutputStream(channel)) {
+                size = copy(digestIn, out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String filename = hash + "." + type.extension;
+            String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + filename;
+            Path target = uploadDirectory.resolve(relativePath);
+
+            if (Files.exists(target)) {
+                // 중복 업로드: GC 유예 기간이 새로 시작되도록 시각만 갱신
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException ignored) {
+                    // 같은 내용이 동시에 올라온 경우: 먼저 옮긴 쪽을 사용
+                }
+            }
+            return new StoredAsset(relativePath, filename, size, type);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * 미참조 자산 정리 (mark & sweep)
+     * - mark: 이 저장소를 가리키는 URL
+     *   · 노트 cover / section 이미지
+     *   · 노트 본문과 섹션 설명 안의 인라인 이미지 (에디터가 ![image](url)로 넣음)
+     *   · 리비전에 저장된 본문 (복원하면 다시 보여야 하므로)
+     * - sweep: content-addressed 경로(ab/cd/<hash>.<ext>)인 파일만 대상
+     *   → 예전 방식 파일은 어디서 참조되는지 알 수 없으므로 지우지 않음
+     * - 참조되지 않고 유예 기간(업로드 후 노트 저장 전일 수 있음)이 지난 파일 삭제
+     */
+    @Scheduled(cron = "${app.note.asset-gc-cron:0 30 4 * * *}")
+    public void sweepUnreferencedAssets() {
+        Set<String> referenced = markReferencedAssets();
+
+        Instant threshold = Instant.now().minus(gcGracePeriod);
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(uploadDirectory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(path) || path.startsWith(tempDirectory)
+                        || path.startsWith(variantService.variantRoot())) continue;
+                String relative = uploadDirectory.relativize(path).toString().replace('\\', '/');
+                if (!CONTENT_ADDRESSED.matcher(relative).matches() || referenced.contains(relative)) continue;
+                if (Files.getLastModifiedTime(path).toInstant().isAfter(threshold)) continue;
+                Files.deleteIfExists(path);
+                variantService.deleteVariants(relative);
+                deleted++;
+            }
+        } catch (IOException e) {
+            log.error("Failed to sweep note assets under {}", uploadDirectory, e);
+        }
+        if (deleted > 0) {
+            log.info("Removed {} unreferenced note assets", deleted);
+        }
+    }
+
+    /** mark 단계: 참조 중인 content-addressed 상대 경로 */
+    Set<String> markReferencedAssets() {
+        String prefix = assetBaseUri + "/";
+        Set<String> referenced = new HashSet<>();
+        collectRelative(noteRepository.findCoverImageUrls(prefix + "%"), prefix, referenced);
+        collectRelative(noteRepository.findSectionImageUrls(prefix + "%"), prefix, referenced);
+
+        // 본문/섹션 설명은 LONGTEXT → id 구간별로 URL이 들어 있는 행만 읽음
+        String pattern = "%" + prefix + "%";
+        Long maxId = noteRepository.findMaxId();
+        for (long from = 0; maxId != null && from < maxId; from += MARK_ID_RANGE) {
+            long to = from + MARK_ID_RANGE;
+            noteRepository.findContentsReferencing(from, to, pattern).forEach(text -> collectReferences(text, referenced));
+            noteRepository.findSectionDescriptionsReferencing(from, to, pattern)
+                    .forEach(text -> collectReferences(text, referenced));
+        }
+        revisionService.scanStoredTexts(text -> collectReferences(text, referenced));
+        return referenced;
+    }
+
+    private static void collectRelative(List<String> urls, String prefix, Set<String> into) {
+        for (String url : urls) {
+            if (url != null && url.startsWith(prefix)) {
+                into.add(url.substring(prefix.length()));
+            }
+        }
+    }
+
+    private void collectReferences(String text, Set<String> into) {
+        if (text == null) return;
+        Matcher matcher = assetReference.matcher(text);
+        while (matcher.find()) {
+            into.add(matcher.group(1));
         }
-        if (file.getSize() > maxFileSize) {
-            throw new IllegalArgumentException("파일은 최대 " + (maxFileSize / (1024 * 1024)) + "MB 까지만 업로드할 수 있습니다.");
+    }
+
+    private void checkSize(long length) {
+        if (length > maxFileSize) {
+            throw tooLarge(maxFileSize);
         }
-        String extension = resolveExtension(file.getOriginalFilename());
-        String contentType = file.getContentType();
-        if (!ALLOWED_EXTENSIONS.contains(extension) || contentType == null || !contentType.startsWith("image/")) {
-            throw new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다.");
+    }
+
+    private static IllegalArgumentException tooLarge(long maxFileSize) {
+        return new IllegalArgumentException("파일은 최대 " + (maxFileSize / (1024 * 1024)) + "MB 까지만 업로드할 수 있습니다.");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
         }
     }
 
-    private static String resolveExtension(String filename) {
-        if (!StringUtils.hasText(filename) || !filename.contains(".")) {
-            return "";
+    /** 허용 형식과 매직 바이트 */
+    private enum ImageType {
+        PNG("png", "image/png"),
+        JPEG("jpg", "image/jpeg"),
+        GIF("gif", "image/gif"),
+        WEBP("webp", "image/webp"),
+        SVG("svg", "image/svg+xml");
+
+        private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+        private final String extension;
+        private final String contentType;
+
+        ImageType(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
         }
-        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+
+        static ImageType sniff(byte[] head) {
+            if (startsWith(head, 0, PNG_SIGNATURE)) return PNG;
+            if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+                return JPEG;
+            }
+            if (startsWith(head, 0, ascii("GIF87a")) || startsWith(head, 0, ascii("GIF89a"))) return GIF;
+            if (startsWith(head, 0, ascii("RIFF")) && startsWith(head, 8, ascii("WEBP"))) return WEBP;
+            return looksLikeSvg(head) ? SVG : null;
+        }
+
+        /**
+         * 텍스트(XML)로 시작하고 앞부분 안에 <svg 태그가 있는지
+         * - SVG 안의 스크립트는 제공 시 CSP sandbox로 막음 (NoteAssetController)
+         */
+        private static boolean looksLikeSvg(byte[] head) {
+            String text = new String(head, StandardCharsets.UTF_8).stripLeading();
+            if (text.startsWith("\uFEFF")) text = text.substring(1).stripLeading();
+            if (!text.startsWith("<")) return false;
+            return text.toLowerCase(Locale.ROOT).contains("<svg");
+        }
+
+        private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+            return data.length >= offset + prefix.length
+                    && Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+        }
+
+        private static byte[] ascii(String value) {
+            return value.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /** 읽은 바이트가 제한을 넘는 순간 예외 (Content-Length를 속이거나 chunked로 보낸 경우) */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) advance(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, (int) Math.min(len, limit - count + 1));
+            if (n > 0) advance(n);
+            return n;
+        }
+
+        private void advance(long n) {
+            count += n;
+            if (count > limit) {
+                throw tooLarge(limit);
+            }
+        }
+    }
+
+    /** immutable이면 장기 캐시 가능 (경로가 내용 해시) */
+    public record ServedAsset(Path path, long size, String etag, boolean immutable) {
+    }
+
+    private record StoredAsset(String relativePath, String filename, long size, ImageType type) {
     }
 }
@@ -0,0 +1,250 @@
+package com.foongdoll.server.note.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 노트 이미지 파생본(썸네일/리사이즈) 생성기
+ * - 원본 한 장을 한 번 디코딩해서 원본보다 작은 모든 폭(VARIANT_WIDTHS)을 만든다
+ * - 작업은 고정 크기 워커 풀 + 유한 큐에서 처리 (큐가 차면 거절, 다음 요청 때 다시 예약)
+ * - 결과는 <upload-dir>/.variants/<폭>/<원본 상대경로> 에 캐시 (원본이 content-addressed라 무효화 불필요)
+ * - png/jpg만 대상, 그 외(gif/webp/svg)는 항상 원본 제공
+ * - 디코딩 전에 ImageReader로 크기만 읽고 픽셀 수가 max-pixels를 넘으면 파생본을 만들지 않음
+ * - 원본이 그 폭보다 작거나(만들 필요 없음) 만들지 않기로 한 폭은 표시 파일(<파생본 경로>.original)을 남김
+ *   → 이후 요청은 다시 예약하지 않고 원본을 최종 결과로 제공
+ */
+@Slf4j
+@Service
+public class NoteAssetVariantService {
+
+    static final String VARIANT_DIRECTORY = ".variants";
+    private static final int[] VARIANT_WIDTHS = {160, 320, 640, 1280};
+    private static final Set<String> RESIZABLE_EXTENSIONS = Set.of("png", "jpg", "jpeg");
+    private static final String ORIGINAL_MARKER_SUFFIX = ".original";
+
+    private final Path variantRoot;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public NoteAssetVariantService(
+            @Value("${app.note.upload-dir:uploads/note}") String uploadDir,
+            @Value("${app.note.variant-workers:2}") int workers,
+            @Value("${app.note.variant-queue-size:200}") int queueSize,
+            @Value("${app.note.variant-max-pixels:25000000}") long maxPixels
+    ) {
+        this.variantRoot = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(VARIANT_DIRECTORY);
+        this.maxPixels = maxPixels;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "note-variant-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** 요청 폭을 지원 폭으로 올림. 가장 큰 폭보다 크면 empty (= 원본) */
+    static Optional<Integer> snapWidth(Integer requested) {
+        if (requested == null || requested <= 0) return Optional.empty();
+        for (int width : VARIANT_WIDTHS) {
+            if (requested <= width) return Optional.of(width);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 이 폭으로 제공할 최종 파일
+     * - 캐시된 파생본, 또는 원본이 최종 결과로 표시된 폭이면 원본(source)
+     * - 아직 없으면 생성을 예약하고 empty (그동안 원본을 주되 최종 결과는 아님)
+     */
+    public Optional<Path> find(Path source, String relativePath, int width) {
+        if (!isResizable(relativePath)) return Optional.empty();
+        Path variant = variantPath(relativePath, width);
+        if (Files.exists(variant)) return Optional.of(variant);
+        if (Files.exists(originalMarker(relativePath, width))) return Optional.of(source);
+        schedule(source, relativePath);
+        return Optional.empty();
+    }
+
+    /** 원본의 모든 파생본 생성을 예약 (같은 원본은 동시에 한 번만) */
+    public void schedule(Path source, String relativePath) {
+        if (!isResizable(relativePath) || !pending.add(relativePath)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(source, relativePath);
+                } catch (Exception e) {
+                    log.warn("Failed to generate variants for {}", relativePath, e);
+                } finally {
+                    pending.remove(relativePath);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 참: 이번엔 원본으로 응답하고 다음 요청 때 다시 예약
+            pending.remove(relativePath);
+        }
+    }
+
+    /** GC에서 원본을 지울 때 함께 삭제 */
+    public void deleteVariants(String relativePath) {
+        for (int width : VARIANT_WIDTHS) {
+            try {
+                Files.deleteIfExists(variantPath(relativePath, width));
+                Files.deleteIfExists(originalMarker(relativePath, width));
+            } catch (IOException e) {
+                log.warn("Failed to delete variant {}@{}", relativePath, width, e);
+            }
+        }
+    }
+
+    Path variantRoot() {
+        return variantRoot;
+    }
+
+    void generate(Path source, String relativePath) throws IOException {
+        BufferedImage original = decodeWithinBudget(source, relativePath);
+        if (original == null) {
+            // 디코딩 불가 형식이거나 픽셀 수 초과: 모든 폭에서 원본 제공
+            for (int width : VARIANT_WIDTHS) {
+                markOriginal(relativePath, width);
+            }
+            return;
+        }
+
+        String format = isJpeg(relativePath) ? "jpg" : "png";
+        BufferedImage current = original;
+        // 큰 폭부터 내려가며 직전 결과를 다시 줄임 → 단계별 축소라 품질/속도 모두 유리
+        for (int i = VARIANT_WIDTHS.length - 1; i >= 0; i--) {
+            int width = VARIANT_WIDTHS[i];
+            if (width >= original.getWidth()) {
+                markOriginal(relativePath, width);
+                continue;
+            }
+            Path target = variantPath(relativePath, width);
+            current = resize(current, width, format.equals("jpg"));
+            if (Files.exists(target)) continue;
+            write(current, format, target);
+        }
+    }
+
+    /** 헤더에서 크기만 먼저 읽고, 픽셀 수가 예산 안일 때만 디코딩 (아니면 null) */
+    private BufferedImage decodeWithinBudget(Path source, String relativePath) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.info("Skipping variants for {}: {}x{} exceeds {} pixels",
+                            relativePath, reader.getWidth(0), reader.getHeight(0), maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void markOriginal(String relativePath, int width) throws IOException {
+        Path marker = originalMarker(relativePath, width);
+        if (Files.exists(marker)) return;
+        Files.createDirectories(marker.getParent());
+        try {
+            Files.createFile(marker);
+        } catch (FileAlreadyExistsException ignored) {
+            // 동시에 같은 표시를 남긴 경우
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, int targetWidth, boolean opaque) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            BufferedImage next = new BufferedImage(width, height,
+                    opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (opaque) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, width, height);
+                }
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                ImageIO.write(image, format, out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path variantPath(String relativePath, int width) {
+        return variantRoot.resolve(Integer.toString(width)).resolve(relativePath);
+    }
+
+    private Path originalMarker(String relativePath, int width) {
+        return variantRoot.resolve(Integer.toString(width)).resolve(relativePath + ORIGINAL_MARKER_SUFFIX);
+    }
+
+    private static boolean isResizable(String relativePath) {
+        return RESIZABLE_EXTENSIONS.contains(extensionOf(relativePath));
+    }
+
+    private static boolean isJpeg(String relativePath) {
+        String ext = extensionOf(relativePath);
+        return ext.equals("jpg") || ext.equals("jpeg");
+    }
+
+    private static String extensionOf(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase();
+    }
+}
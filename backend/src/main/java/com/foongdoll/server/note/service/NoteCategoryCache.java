@@ -0,0 +1,243 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.NoteCategoryRepository;
+import com.foongdoll.server.note.repository.NoteRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자(ownerId)별 카테고리 트리 캐시
+ * - 트리 응답(노드별 노트 수 포함), code→path, id→node 맵을 불변 스냅샷으로 보관
+ * - 카테고리 생성/수정/삭제 시 evict → 다음 조회에서 한 번만 다시 적재
+ * - 노트 생성/삭제/카테고리 변경은 커밋 후 adjustNoteCounts로 해당 경로와 조상의 노트 수만 고친 사본으로 교체
+ * - ETag는 트리 내용으로 계산하므로 재적재되어도 내용이 같으면 동일
+ */
+@Component
+public class NoteCategoryCache {
+
+    private final NoteCategoryRepository categoryRepository;
+    private final NoteRepository noteRepository;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public NoteCategoryCache(NoteCategoryRepository categoryRepository, NoteRepository noteRepository) {
+        this.categoryRepository = categoryRepository;
+        this.noteRepository = noteRepository;
+    }
+
+    public Snapshot get(String ownerId) {
+        Snapshot cached = snapshots.get(ownerId);
+        if (cached != null) {
+            return cached;
+        }
+        // 적재 도중 evict가 일어나면 낡은 스냅샷을 넣지 않도록 세대 번호를 비교
+        long generation = generations.getOrDefault(ownerId, 0L);
+        Snapshot loaded = load(ownerId);
+        if (generations.getOrDefault(ownerId, 0L) == generation) {
+            snapshots.put(ownerId, loaded);
+        }
+        return loaded;
+    }
+
+    /** 트랜잭션 안이면 커밋 이후에도 한 번 더 비워서 커밋 전 재적재된 스냅샷을 제거 */
+    public void evict(String ownerId) {
+        evictNow(ownerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(ownerId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String ownerId) {
+        generations.merge(ownerId, 1L, Long::sum);
+        snapshots.remove(ownerId);
+    }
+
+    /**
+     * 경로별 노트 수 증감 (트리 구조는 그대로, DB 재조회 없음)
+     * - 트랜잭션 안이면 커밋된 경우에만 반영
+     * - 그 사이 스냅샷이 새로 적재됐다면 변경 포함 여부를 알 수 없으므로 버림
+     */
+    public void adjustNoteCounts(String ownerId, Map<String, Long> deltaByPath) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltaByPath.forEach((path, delta) -> {
+            if (path != null && delta != null && delta != 0) deltas.merge(path, delta, Long::sum);
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Snapshot expected = snapshots.get(ownerId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyNoteCounts(ownerId, expected, deltas);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    applyNoteCounts(ownerId, expected, deltas);
+                }
+            }
+        });
+    }
+
+    private void applyNoteCounts(String ownerId, Snapshot expected, Map<String, Long> deltas) {
+        // 적재 중인 스냅샷(커밋 전 값일 수 있음)은 넣지 않도록 세대 번호도 올림
+        generations.merge(ownerId, 1L, Long::sum);
+        snapshots.computeIfPresent(ownerId, (key, current) ->
+                current == expected ? withNoteCounts(current, deltas) : null);
+    }
+
+    private static Snapshot withNoteCounts(Snapshot snapshot, Map<String, Long> deltas) {
+        Map<Long, Dtos.CategoryNode> byId = new LinkedHashMap<>();
+        Map<String, Dtos.CategoryNode> byPath = new HashMap<>();
+        for (Dtos.CategoryNode node : snapshot.nodesById().values()) {
+            Dtos.CategoryNode copy = copyOf(node);
+            byId.put(copy.getId(), copy);
+            byPath.put(copy.getPath(), copy);
+        }
+        deltas.forEach((path, delta) -> addNoteCount(byPath, path, delta));
+        return assemble(byId, snapshot.pathByCode());
+    }
+
+    private Snapshot load(String ownerId) {
+        List<Category> all = categoryRepository.findAllByOwnerIdOrderByDepthAscSortOrderAscIdAsc(ownerId);
+
+        Map<Long, Dtos.CategoryNode> byId = new LinkedHashMap<>();
+        Map<String, String> pathByCode = new HashMap<>();
+        Map<String, Dtos.CategoryNode> byPath = new HashMap<>();
+        for (Category c : all) {
+            Dtos.CategoryNode node = toNode(c);
+            node.setNoteCount(0L);
+            node.setSubtreeNoteCount(0L);
+            byId.put(c.getId(), node);
+            pathByCode.put(c.getCode(), c.getPath());
+            byPath.put(c.getPath(), node);
+        }
+
+        // 노트 수: 경로별 GROUP BY 한 번 → 물질화 경로를 거슬러 올라가며 조상에 누적
+        for (NoteRepository.PathCount row : noteRepository.countByCategoryPath(ownerId)) {
+            addNoteCount(byPath, row.getPath(), row.getNoteCount());
+        }
+        return assemble(byId, pathByCode);
+    }
+
+    private static void addNoteCount(Map<String, Dtos.CategoryNode> byPath, String path, long count) {
+        Dtos.CategoryNode direct = byPath.get(path);
+        if (direct != null) {
+            direct.setNoteCount(direct.getNoteCount() + count);
+        }
+        for (String p = path; p != null && !p.isEmpty(); p = parentPath(p)) {
+            Dtos.CategoryNode ancestor = byPath.get(p);
+            if (ancestor != null) {
+                ancestor.setSubtreeNoteCount(ancestor.getSubtreeNoteCount() + count);
+            }
+        }
+    }
+
+    /** 노드(자식 비어 있음) → 트리 연결 · 정렬 · ETag */
+    private static Snapshot assemble(Map<Long, Dtos.CategoryNode> byId, Map<String, String> pathByCode) {
+        List<Dtos.CategoryNode> roots = new ArrayList<>();
+        for (Dtos.CategoryNode node : byId.values()) {
+            if (node.getParentId() == null) {
+                roots.add(node);
+            } else {
+                Dtos.CategoryNode parent = byId.get(node.getParentId());
+                if (parent != null) parent.getChildren().add(node);
+            }
+        }
+        // 자식 정렬
+        roots.forEach(NoteCategoryCache::sortRec);
+
+        StringBuilder digest = new StringBuilder();
+        for (Dtos.CategoryNode node : byId.values()) {
+            digest.append(node.getId()).append('|')
+                    .append(node.getCode()).append('|')
+                    .append(node.getLabel()).append('|')
+                    .append(node.getPath()).append('|')
+                    .append(node.getSortOrder()).append('|')
+                    .append(node.getParentId()).append('|')
+                    .append(node.getNoteCount()).append('|')
+                    .append(node.getSubtreeNoteCount()).append('\n');
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(digest.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        return new Snapshot(
+                Collections.unmodifiableList(roots),
+                Collections.unmodifiableMap(byId),
+                Collections.unmodifiableMap(pathByCode),
+                etag
+        );
+    }
+
+    private static Dtos.CategoryNode copyOf(Dtos.CategoryNode n) {
+        return Dtos.CategoryNode.builder()
+                .id(n.getId())
+                .code(n.getCode())
+                .label(n.getLabel())
+                .path(n.getPath())
+                .depth(n.getDepth())
+                .sortOrder(n.getSortOrder())
+                .parentId(n.getParentId())
+                .noteCount(n.getNoteCount())
+                .subtreeNoteCount(n.getSubtreeNoteCount())
+                .children(new ArrayList<>())
+                .build();
+    }
+
+    private static String parentPath(String path) {
+        int idx = path.lastIndexOf('/');
+        return idx <= 0 ? null : path.substring(0, idx);
+    }
+
+    private static void sortRec(Dtos.CategoryNode n) {
+        n.getChildren().sort(
+                Comparator.comparing(Dtos.CategoryNode::getSortOrder)
+                        .thenComparing(Dtos.CategoryNode::getId)
+        );
+        n.getChildren().forEach(NoteCategoryCache::sortRec);
+    }
+
+    static Dtos.CategoryNode toNode(Category c) {
+        return Dtos.CategoryNode.builder()
+                .id(c.getId())
+                .code(c.getCode())
+                .label(c.getLabel())
+                .path(c.getPath())
+                .depth(c.getDepth())
+                .sortOrder(Optional.ofNullable(c.getSortOrder()).orElse(0))
+                .parentId(c.getParent() == null ? null : c.getParent().getId())
+                .children(new ArrayList<>())
+                .build();
+    }
+
+    /** 한 사용자의 카테고리 트리 스냅샷 (공유되므로 수정 금지) */
+    public record Snapshot(
+            List<Dtos.CategoryNode> tree,
+            Map<Long, Dtos.CategoryNode> nodesById,
+            Map<String, String> pathByCode,
+            String etag
+    ) {
+        public Optional<String> pathOf(String code) {
+            return Optional.ofNullable(pathByCode.get(code));
+        }
+
+        /** 단건 응답용: 자식 없이 노드 정보만 복사 */
+        public Optional<Dtos.CategoryNode> node(Long id) {
+            return Optional.ofNullable(nodesById.get(id)).map(NoteCategoryCache::copyOf);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.foongdoll.server.note.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 노트 본문 리비전 인코딩 (줄 단위 copy/insert delta + deflate)
+ * - 스냅샷: 본문 전체를 압축
+ * - delta: 새 본문을 "기준 본문의 [start, start+count) 줄 복사" / "새 줄 삽입" 명령 열로 표현
+ *   (줄 해시 인덱스로 가장 긴 일치 구간을 고르는 greedy 방식, 줄 이동도 복사로 처리)
+ * - 줄은 개행 문자를 포함해서 자르므로 복원 결과가 원문과 바이트 단위로 같음
+ */
+final class NoteDelta {
+
+    private static final byte OP_COPY = 1;
+    private static final byte OP_INSERT = 2;
+    /** 같은 내용의 줄이 많을 때(빈 줄 등) 후보를 끝까지 보지 않음 */
+    private static final int MAX_CANDIDATES = 16;
+
+    private NoteDelta() {
+    }
+
+    static byte[] snapshot(String content) {
+        return deflate(nullToEmpty(content).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String fromSnapshot(byte[] data) {
+        return new String(inflate(data), StandardCharsets.UTF_8);
+    }
+
+    static byte[] diff(String base, String target) {
+        List<String> from = lines(base);
+        List<String> to = lines(target);
+
+        Map<String, List<Integer>> index = new HashMap<>();
+        for (int i = 0; i < from.size(); i++) {
+            index.computeIfAbsent(from.get(i), k -> new ArrayList<>(1)).add(i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            List<String> inserts = new ArrayList<>();
+            int expected = 0; // 직전 복사 구간 바로 다음 줄 (순차 편집이면 여기서 바로 이어짐)
+            int j = 0;
+            while (j < to.size()) {
+                int bestStart = -1;
+                int bestLength = 0;
+                if (expected < from.size() && from.get(expected).equals(to.get(j))) {
+                    bestStart = expected;
+                    bestLength = matchLength(from, expected, to, j);
+                }
+                List<Integer> candidates = index.getOrDefault(to.get(j), List.of());
+                for (int c = 0; c < candidates.size() && c < MAX_CANDIDATES; c++) {
+                    int start = candidates.get(c);
+                    if (start == bestStart) continue;
+                    int length = matchLength(from, start, to, j);
+                    if (length > bestLength) {
+                        bestStart = start;
+                        bestLength = length;
+                    }
+                }
+
+                if (bestLength == 0) {
+                    inserts.add(to.get(j++));
+                    continue;
+                }
+                flushInserts(out, inserts);
+                out.writeByte(OP_COPY);
+                writeVarInt(out, bestStart);
+                writeVarInt(out, bestLength);
+                j += bestLength;
+                expected = bestStart + bestLength;
+            }
+            flushInserts(out, inserts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deflate(bytes.toByteArray());
+    }
+
+    static String apply(String base, byte[] delta) {
+        List<String> from = lines(base);
+        StringBuilder result = new StringBuilder(base.length());
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(delta)))) {
+            int op;
+            while ((op = in.read()) >= 0) {
+                if (op == OP_COPY) {
+                    int start = readVarInt(in);
+                    int count = readVarInt(in);
+                    for (int i = start; i < start + count; i++) {
+                        result.append(from.get(i));
+                    }
+                } else if (op == OP_INSERT) {
+                    int count = readVarInt(in);
+                    for (int i = 0; i < count; i++) {
+                        byte[] line = new byte[readVarInt(in)];
+                        in.readFully(line);
+                        result.append(new String(line, StandardCharsets.UTF_8));
+                    }
+                } else {
+                    throw new IllegalStateException("손상된 리비전 데이터입니다.");
+                }
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("손상된 리비전 데이터입니다.", e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 리비전 data에 직접 들어 있는 텍스트 (자산 GC mark용)
+     * - 스냅샷: 본문 전체, delta: 삽입된 줄만
+     * - 어떤 리비전의 본문이든 줄 단위로 보면 이 둘 중 하나에서 온 것 → 리비전을 복원하지 않고도 전부 훑을 수 있음
+     */
+    static String storedText(boolean snapshot, byte[] data) {
+        if (snapshot) {
+            return fromSnapshot(data);
+        }
+        StringBuilder inserted = new StringBuilder();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(data)))) {
+            int op;
+            while ((op = in.read()) >= 0) {
+                if (op == OP_COPY) {
+                    readVarInt(in);
+                    readVarInt(in);
+                } else if (op == OP_INSERT) {
+                    int count = readVarInt(in);
+                    for (int i = 0; i < count; i++) {
+                        byte[] line = new byte[readVarInt(in)];
+                        in.readFully(line);
+                        inserted.append(new String(line, StandardCharsets.UTF_8));
+                    }
+                } else {
+                    throw new IllegalStateException("손상된 리비전 데이터입니다.");
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("손상된 리비전 데이터입니다.", e);
+        }
+        return inserted.toString();
+    }
+
+    private static int matchLength(List<String> from, int i, List<String> to, int j) {
+        int length = 0;
+        while (i + length < from.size() && j + length < to.size()
+                && from.get(i + length).equals(to.get(j + length))) {
+            length++;
+        }
+        return length;
+    }
+
+    private static void flushInserts(DataOutputStream out, List<String> inserts) throws IOException {
+        if (inserts.isEmpty()) return;
+        out.writeByte(OP_INSERT);
+        writeVarInt(out, inserts.size());
+        for (String line : inserts) {
+            byte[] encoded = line.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, encoded.length);
+            out.write(encoded);
+        }
+        inserts.clear();
+    }
+
+    /** 개행 문자를 포함한 줄 목록 (마지막 줄은 개행이 없을 수 있음) */
+    private static List<String> lines(String text) {
+        String s = nullToEmpty(text);
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        int newline;
+        while ((newline = s.indexOf('\n', start)) >= 0) {
+            lines.add(s.substring(start, newline + 1));
+            start = newline + 1;
+        }
+        if (start < s.length()) {
+            lines.add(s.substring(start));
+        }
+        return lines;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("varint too long");
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("손상된 리비전 데이터입니다.", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
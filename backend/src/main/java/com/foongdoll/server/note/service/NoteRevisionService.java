@@ -0,0 +1,154 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.NoteRevision;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.NoteRevisionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 노트 리비전 기록/복원 (소유자 검증은 호출하는 NoteService에서)
+ * - SNAPSHOT_INTERVAL 번째마다 전체 스냅샷, 그 사이는 직전 리비전 대비 delta (NoteDelta)
+ * - delta가 스냅샷보다 커지면(대부분 새로 쓴 경우) 그 리비전은 스냅샷으로 저장
+ * - 어떤 리비전이든 "스냅샷 1개 + delta 최대 SNAPSHOT_INTERVAL-1개" 로 복원
+ */
+@Service
+public class NoteRevisionService {
+
+    static final int SNAPSHOT_INTERVAL = 32;
+    private static final int SCAN_BATCH_SIZE = 200;
+
+    private final NoteRevisionRepository revisionRepository;
+
+    public NoteRevisionService(NoteRevisionRepository revisionRepository) {
+        this.revisionRepository = revisionRepository;
+    }
+
+    /** 새 노트의 첫 리비전 */
+    @Transactional
+    public void recordInitial(Long noteId, String title, String content) {
+        revisionRepository.save(snapshot(noteId, 1, title, content));
+    }
+
+    /**
+     * 제목/본문이 바뀐 경우 다음 리비전 기록
+     * - 이력이 없던 노트(기능 도입 전 작성/가져오기)는 변경 전 내용을 1번 스냅샷으로 먼저 남김
+     * - 호출하는 쪽이 노트 행을 잠근 트랜잭션 안이어야 함 (NoteRepository.lockOwnNote)
+     *   → 다음 번호 계산과 delta 기준(previousContent)이 동시 저장과 겹치지 않음
+     */
+    @Transactional
+    public void recordChange(Long noteId, String previousTitle, String previousContent, String title, String content) {
+        if (Objects.equals(previousTitle, title) && Objects.equals(previousContent, content)) {
+            return;
+        }
+        int last = revisionRepository.findTopByNoteIdOrderByRevisionDesc(noteId)
+                .map(NoteRevision::getRevision)
+                .orElse(0);
+        if (last == 0) {
+            revisionRepository.save(snapshot(noteId, 1, previousTitle, previousContent));
+            last = 1;
+        }
+
+        int next = last + 1;
+        NoteRevision revision = snapshot(noteId, next, title, content);
+        if ((next - 1) % SNAPSHOT_INTERVAL != 0) {
+            byte[] delta = NoteDelta.diff(nullToEmpty(previousContent), nullToEmpty(content));
+            if (delta.length < revision.getData().length) {
+                revision = NoteRevision.builder()
+                        .noteId(noteId)
+                        .revision(next)
+                        .snapshot(false)
+                        .title(title)
+                        .contentLength(nullToEmpty(content).length())
+                        .storedBytes(delta.length)
+                        .data(delta)
+                        .build();
+            }
+        }
+        revisionRepository.save(revision);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Dtos.NoteRevisionSummary> list(Long noteId) {
+        return revisionRepository.findSummaries(noteId).stream()
+                .map(r -> Dtos.NoteRevisionSummary.builder()
+                        .revision(r.getRevision())
+                        .title(r.getTitle())
+                        .contentLength(r.getContentLength())
+                        .storedBytes(r.getStoredBytes())
+                        .snapshot(r.getSnapshot())
+                        .createdAt(r.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Dtos.NoteRevisionResponse reconstruct(Long noteId, int revision) {
+        Integer base = revisionRepository.findBaseSnapshotRevision(noteId, revision);
+        if (base == null) {
+            throw new EntityNotFoundException("Revision not found: " + noteId + "@" + revision);
+        }
+        List<NoteRevision> chain =
+                revisionRepository.findByNoteIdAndRevisionBetweenOrderByRevisionAsc(noteId, base, revision);
+        NoteRevision target = chain.get(chain.size() - 1);
+        if (target.getRevision() != revision) {
+            throw new EntityNotFoundException("Revision not found: " + noteId + "@" + revision);
+        }
+
+        String content = NoteDelta.fromSnapshot(chain.get(0).getData());
+        for (NoteRevision step : chain.subList(1, chain.size())) {
+            content = step.isSnapshot() ? NoteDelta.fromSnapshot(step.getData()) : NoteDelta.apply(content, step.getData());
+        }
+        return Dtos.NoteRevisionResponse.builder()
+                .noteId(noteId)
+                .revision(revision)
+                .title(target.getTitle())
+                .content(content)
+                .createdAt(target.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * 모든 리비전에 저장된 텍스트를 배치로 훑기 (자산 GC mark용)
+     * - 복원하지 않고 스냅샷 본문 + delta의 삽입 줄만 넘김 (NoteDelta.storedText)
+     */
+    public void scanStoredTexts(Consumer<String> consumer) {
+        long afterId = 0L;
+        List<NoteRevisionRepository.StoredData> batch;
+        do {
+            batch = revisionRepository.findDataBatch(afterId, PageRequest.of(0, SCAN_BATCH_SIZE));
+            for (NoteRevisionRepository.StoredData row : batch) {
+                consumer.accept(NoteDelta.storedText(row.getSnapshot(), row.getData()));
+                afterId = row.getId();
+            }
+        } while (batch.size() == SCAN_BATCH_SIZE);
+    }
+
+    @Transactional
+    public void deleteAll(Long noteId) {
+        revisionRepository.deleteByNoteId(noteId);
+    }
+
+    private static NoteRevision snapshot(Long noteId, int revision, String title, String content) {
+        byte[] data = NoteDelta.snapshot(content);
+        return NoteRevision.builder()
+                .noteId(noteId)
+                .revision(revision)
+                .snapshot(true)
+                .title(title)
+                .contentLength(nullToEmpty(content).length())
+                .storedBytes(data.length)
+                .data(data)
+                .build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
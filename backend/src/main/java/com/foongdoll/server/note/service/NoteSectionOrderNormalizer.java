@@ -0,0 +1,91 @@
+package com.foongdoll.server.note.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * note_sections.sort_order 정리 (예전 행 마이그레이션)
+ * - sections가 @OrderColumn(sort_order) 목록이 되기 전 행은 순서 값에 빈칸/중복/NULL이 있을 수 있음
+ *   → 그대로 읽으면 빈칸은 null 칸, 중복은 한 행이 다른 행을 덮어써 다음 저장 때 사라짐
+ * - 매 시작마다 트래픽을 받기 전(싱글톤 초기화 직후) 0..n-1이 아닌 노트를 찾음 (정리된 뒤에는 찾는 쿼리 한 번)
+ * - 기존 순서(NULL은 맨 뒤)대로 다시 매김, 행에 식별자가 없어 노트 단위로 읽고 지운 뒤 다시 INSERT
+ * - 배치마다 트랜잭션, 노트 행을 updateNote와 같은 방식으로 잠근 뒤 정리 (동시 저장과 섞이지 않음)
+ */
+@Slf4j
+@Service
+public class NoteSectionOrderNormalizer implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 200;
+
+    private static final String FIND_UNORDERED = """
+            SELECT note_id FROM note_sections
+             GROUP BY note_id
+            HAVING COUNT(*) <> COUNT(DISTINCT sort_order)
+                OR MIN(sort_order) <> 0
+                OR MAX(sort_order) <> COUNT(*) - 1
+             LIMIT ?
+            """;
+
+    private static final String LOCK_NOTE = "SELECT id FROM notes WHERE id = ? FOR UPDATE";
+
+    private static final String SELECT_SECTIONS = """
+            SELECT section_title, image_url, description FROM note_sections
+             WHERE note_id = ?
+             ORDER BY CASE WHEN sort_order IS NULL THEN 1 ELSE 0 END, sort_order
+            """;
+
+    private static final String INSERT_SECTION = """
+            INSERT INTO note_sections (note_id, sort_order, section_title, image_url, description)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+
+    public NoteSectionOrderNormalizer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int notes = normalize();
+        if (notes > 0) {
+            log.info("Renumbered note section order: {} notes", notes);
+        }
+    }
+
+    /** 순서가 어긋난 노트가 없어질 때까지 배치 단위로 정리, 정리한 노트 수 반환 */
+    public int normalize() {
+        int total = 0;
+        while (true) {
+            List<Long> noteIds = jdbcTemplate.queryForList(FIND_UNORDERED, Long.class, BATCH_SIZE);
+            if (noteIds.isEmpty()) {
+                return total;
+            }
+            writeTransaction.executeWithoutResult(status -> noteIds.forEach(this::renumber));
+            total += noteIds.size();
+        }
+    }
+
+    private void renumber(Long noteId) {
+        // updateNote(lockOwnNote)와 같은 노트 행 잠금 → 동시 저장은 정리가 끝난 뒤 진행
+        jdbcTemplate.queryForList(LOCK_NOTE, Long.class, noteId);
+        List<SectionRow> rows = jdbcTemplate.query(SELECT_SECTIONS,
+                (rs, rowNum) -> new SectionRow(rs.getString(1), rs.getString(2), rs.getString(3)), noteId);
+        jdbcTemplate.update("DELETE FROM note_sections WHERE note_id = ?", noteId);
+        for (int index = 0; index < rows.size(); index++) {
+            SectionRow row = rows.get(index);
+            jdbcTemplate.update(INSERT_SECTION, noteId, index, row.title(), row.imageUrl(), row.description());
+        }
+    }
+
+    private record SectionRow(String title, String imageUrl, String description) {
+    }
+}
@@ -1,5 +1,9 @@
 package com.foongdoll.server.note.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.foongdoll.server.note.domain.Category;
 import com.foongdoll.server.note.domain.Note;
 import com.foongdoll.server.note.domain.NoteSection;
@@ -14,13 +18,21 @@ import lombok.*;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * NOTE/CATEGORY 비즈니스 로직
@@ -34,17 +46,45 @@ public class NoteService {
 
     private static final int DEFAULT_PAGE_SIZE = 6;
     private static final int SNIPPET_MAX_LENGTH = 200;
+    private static final int EXPORT_BATCH_SIZE = 100;
+    private static final int IMPORT_BATCH_SIZE = 100;
+    private static final int IMPORT_MAX_ERRORS = 100;
+    private static final int RELATED_IN_DETAIL = 5;
+    private static final int RELATED_MAX = 50;
+
+    /** NDJSON 내보내기/가져오기 전용 (LocalDate는 ISO 문자열, 모르는 필드는 무시) */
+    private static final ObjectMapper TRANSFER_MAPPER = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
     private final NoteRepository noteRepository;
     private final NoteCategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final NoteCategoryCache categoryCache;
+    private final NoteRevisionService revisionService;
+    private final TagCountService tagCountService;
+    private final RelatedNoteIndex relatedNoteIndex;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
 
     public NoteService(NoteRepository noteRepository,
                        NoteCategoryRepository categoryRepository,
-                       TagRepository tagRepository) {
+                       TagRepository tagRepository,
+                       NoteCategoryCache categoryCache,
+                       NoteRevisionService revisionService,
+                       TagCountService tagCountService,
+                       RelatedNoteIndex relatedNoteIndex,
+                       PlatformTransactionManager transactionManager) {
         this.noteRepository = noteRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
+        this.categoryCache = categoryCache;
+        this.revisionService = revisionService;
+        this.tagCountService = tagCountService;
+        this.relatedNoteIndex = relatedNoteIndex;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
     /* ===================== 공통 유틸: 현재 사용자 ===================== */
@@ -63,21 +103,44 @@ public class NoteService {
     public Dtos.NoteListResponse getNotes(int page, int pageSize,
                                           String q,
                                           String categoryCode,
-                                          String categoryPath) {
+                                          String categoryPath,
+                                          List<String> tags,
+                                          String tagMode) {
 
         String ownerId = currentUserId();
 
         int safePage = Math.max(page, 1) - 1;                // 0-based
         int safeSize = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
 
-        // 카테고리 경로 결정: code가 들어오면 code로 Category path 조회 (내 카테고리에서만)
+        // 카테고리 경로 결정: code가 들어오면 캐시된 트리에서 path 조회 (내 카테고리에서만)
         String pathPrefix = null;
         if (categoryPath != null && !categoryPath.isBlank()) {
             pathPrefix = normalizePathPrefix(categoryPath);
         } else if (categoryCode != null && !categoryCode.isBlank()) {
-            Category cat = categoryRepository.findByOwnerIdAndCode(ownerId, categoryCode)
+            String path = categoryCache.get(ownerId).pathOf(categoryCode)
                     .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryCode));
-            pathPrefix = normalizePathPrefix(cat.getPath());
+            pathPrefix = normalizePathPrefix(path);
+        }
+
+        // 태그 필터: 이름 → id (없는 태그는 AND면 결과 없음, OR면 무시)
+        TagFilter tagFilter = null;
+        List<String> wantedTags = tags == null ? List.of() : sanitizeTagNames(tags).stream()
+                .map(Tag::keyOf)
+                .toList();
+        if (!wantedTags.isEmpty()) {
+            boolean matchAll = !"or".equalsIgnoreCase(tagMode);
+            List<Long> tagIds = tagRepository.findIdsByOwnerIdAndNameKeyIn(ownerId, wantedTags);
+            if (tagIds.isEmpty() || (matchAll && tagIds.size() < wantedTags.size())) {
+                return Dtos.NoteListResponse.builder()
+                        .items(List.of())
+                        .page(page)
+                        .pageSize(safeSize)
+                        .total(0)
+                        .hasPrev(false)
+                        .hasNext(false)
+                        .build();
+            }
+            tagFilter = new TagFilter(tagIds, matchAll);
         }
 
         Pageable pageable = PageRequest.of(
@@ -87,7 +150,7 @@ public class NoteService {
         );
 
         Page<Note> pageResult = noteRepository.findAll(
-                specFor(q, pathPrefix, ownerId),
+                specFor(q, pathPrefix, ownerId, tagFilter),
                 pageable
         );
 
@@ -105,18 +168,23 @@ public class NoteService {
                 .build();
     }
 
+    public List<Dtos.TagCloudItem> getTagCloud(int limit) {
+        return tagCountService.top(currentUserId(), limit);
+    }
+
     public Dtos.NoteDetailResponse getNote(Long id) {
         String ownerId = currentUserId();
 
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Note not found: " + id));
-
-        // 🔹 내 노트만 접근 가능
-        if (!ownerId.equals(note.getAuthor())) {
-            throw new EntityNotFoundException("Note not found: " + id);
-        }
+        // 🔹 내 노트만 접근 가능 (author 조건이 쿼리에 포함)
+        Dtos.NoteDetailResponse detail = toDetail(loadDetail(id, ownerId));
+        detail.setRelated(relatedNoteIndex.topK(ownerId, id, RELATED_IN_DETAIL));
+        return detail;
+    }
 
-        return toDetail(note);
+    public List<Dtos.RelatedNote> getRelatedNotes(Long id, int limit) {
+        String ownerId = currentUserId();
+        requireOwnNote(id, ownerId);
+        return relatedNoteIndex.topK(ownerId, id, Math.min(Math.max(limit, 1), RELATED_MAX));
     }
 
     @Transactional
@@ -140,6 +208,9 @@ public class NoteService {
         syncTags(note, req.getTags());
 
         Note saved = noteRepository.save(note);
+        revisionService.recordInitial(saved.getId(), saved.getTitle(), saved.getContent());
+        relatedNoteIndex.onSaved(ownerId, saved);
+        categoryCache.adjustNoteCounts(ownerId, Map.of(category.getPath(), 1L)); // 트리의 노트 수만 갱신
         return toDetail(saved);
     }
 
@@ -147,13 +218,12 @@ public class NoteService {
     public Dtos.NoteDetailResponse updateNote(Long id, Dtos.NoteUpdateRequest req) {
         String ownerId = currentUserId();
 
-        Note note = noteRepository.findById(id)
+        // 🔹 소유자 검증 포함, 동시 저장은 노트 행 잠금으로 직렬화 (리비전 번호 중복 방지)
+        noteRepository.lockOwnNote(id, ownerId)
                 .orElseThrow(() -> new EntityNotFoundException("Note not found: " + id));
-
-        // 🔹 소유자 검증
-        if (!ownerId.equals(note.getAuthor())) {
-            throw new EntityNotFoundException("Note not found: " + id);
-        }
+        Note note = loadDetail(id, ownerId);
+        String previousTitle = note.getTitle();
+        String previousContent = note.getContent();
 
         if (req.getTitle() != null) note.setTitle(req.getTitle());
         // 🔹 author는 변경 불가 (보안상)
@@ -164,7 +234,11 @@ public class NoteService {
 
         if (req.getCategoryId() != null || StringUtils.hasText(req.getCategoryCode())) {
             Category category = categoryBy(req.getCategoryCode(), req.getCategoryId(), ownerId);
+            String previousPath = note.getCategoryPath();
             note.setCategory(category);
+            if (!category.getPath().equals(previousPath)) {
+                categoryCache.adjustNoteCounts(ownerId, Map.of(previousPath, -1L, category.getPath(), 1L));
+            }
         }
 
         if (req.getSnippet() != null || req.getContent() != null) {
@@ -180,6 +254,8 @@ public class NoteService {
             syncTags(note, req.getTags());
         }
 
+        revisionService.recordChange(note.getId(), previousTitle, previousContent, note.getTitle(), note.getContent());
+        relatedNoteIndex.onSaved(ownerId, note);
         return toDetail(note);
     }
 
@@ -196,31 +272,230 @@ public class NoteService {
             throw new EntityNotFoundException("Note not found: " + id);
         }
 
+        revisionService.deleteAll(note.getId());
+        tagCountService.apply(ownerId, List.of(), note.getTags());
+        relatedNoteIndex.onDeleted(ownerId, note.getId());
         noteRepository.delete(note);
+        categoryCache.adjustNoteCounts(ownerId, Map.of(note.getCategoryPath(), -1L));
     }
 
-    /* ===================== CATEGORY (내 카테고리만) ===================== */
+    /* ===================== REVISIONS (내 노트만) ===================== */
 
-    public List<Dtos.CategoryNode> getCategoryTree() {
-        String ownerId = currentUserId();
+    public List<Dtos.NoteRevisionSummary> getRevisions(Long id) {
+        requireOwnNote(id, currentUserId());
+        return revisionService.list(id);
+    }
 
-        List<Category> all = categoryRepository
-                .findAllByOwnerIdOrderByDepthAscSortOrderAscIdAsc(ownerId);
+    public Dtos.NoteRevisionResponse getRevision(Long id, int revision) {
+        requireOwnNote(id, currentUserId());
+        return revisionService.reconstruct(id, revision);
+    }
 
-        return buildTree(all);
+    private void requireOwnNote(Long id, String ownerId) {
+        if (!noteRepository.existsByIdAndAuthor(id, ownerId)) {
+            throw new EntityNotFoundException("Note not found: " + id);
+        }
     }
 
-    public Dtos.CategoryNode getCategoryNode(Long id) {
+    /* ===================== EXPORT / IMPORT (NDJSON, 내 노트만) ===================== */
+
+    /**
+     * 내 노트 전체를 NDJSON(한 줄에 노트 하나)으로 스트리밍
+     * - id 기준 keyset 커서로 배치 조회, 배치마다 새 트랜잭션이라 영속성 컨텍스트가 쌓이지 않음
+     * - 응답 본문은 요청 스레드 밖에서 쓰이므로 ownerId는 여기서 미리 확정
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StreamingResponseBody exportNotes() {
         String ownerId = currentUserId();
+        return out -> writeExport(ownerId, out);
+    }
 
-        Category c = categoryRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Category not found: " + id));
+    private void writeExport(String ownerId, OutputStream out) throws IOException {
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            List<Dtos.NoteDetailResponse> batch = readTransaction.execute(status ->
+                    noteRepository.findExportBatch(ownerId, cursor, PageRequest.of(0, EXPORT_BATCH_SIZE))
+                            .stream()
+                            .map(NoteService::toDetail)
+                            .toList());
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            for (Dtos.NoteDetailResponse detail : batch) {
+                out.write(TRANSFER_MAPPER.writeValueAsBytes(detail));
+                out.write('\n');
+            }
+            out.flush();
+            if (batch.size() < EXPORT_BATCH_SIZE) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
 
-        if (!ownerId.equals(c.getOwnerId())) {
-            throw new EntityNotFoundException("Category not found: " + id);
+    /**
+     * NDJSON 가져오기: 한 줄씩 읽어 IMPORT_BATCH_SIZE 단위로 트랜잭션 분할 저장
+     * - 카테고리는 categoryCode(없으면 내 categoryId)로 매칭, 태그는 배치 단위로 한 번에 조회/생성
+     * - 잘못된 줄은 건너뛰고 줄 번호와 함께 errors에 기록
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Dtos.NoteImportResponse importNotes(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("가져올 파일이 없습니다.");
+        }
+        String ownerId = currentUserId();
+        NoteCategoryCache.Snapshot categories = categoryCache.get(ownerId);
+        Map<String, Long> categoryIdByCode = new HashMap<>();
+        categories.nodesById().values().forEach(n -> categoryIdByCode.put(n.getCode(), n.getId()));
+
+        ImportResult result = new ImportResult();
+        List<ImportRow> batch = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                try {
+                    Dtos.NoteCreateRequest req = TRANSFER_MAPPER.readValue(line, Dtos.NoteCreateRequest.class);
+                    if (!StringUtils.hasText(req.getTitle())) {
+                        throw new IllegalArgumentException("제목이 없습니다.");
+                    }
+                    Long categoryId = StringUtils.hasText(req.getCategoryCode())
+                            ? categoryIdByCode.get(req.getCategoryCode())
+                            : (req.getCategoryId() != null && categories.nodesById().containsKey(req.getCategoryId())
+                            ? req.getCategoryId() : null);
+                    if (categoryId == null) {
+                        throw new IllegalArgumentException("카테고리를 찾을 수 없습니다: " + req.getCategoryCode());
+                    }
+                    batch.add(new ImportRow(lineNo, req, categoryId, categories.nodesById().get(categoryId).getPath()));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    result.fail(lineNo + "행: " + (e instanceof JsonProcessingException ? "JSON 형식 오류" : e.getMessage()));
+                }
+                if (batch.size() >= IMPORT_BATCH_SIZE) {
+                    saveImportBatch(ownerId, batch, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("가져오기 파일을 읽을 수 없습니다.", e);
+        }
+        if (!batch.isEmpty()) {
+            saveImportBatch(ownerId, batch, result);
         }
 
-        return toNode(c);
+        return Dtos.NoteImportResponse.builder()
+                .imported(result.imported)
+                .failed(result.failed)
+                .errors(result.errors)
+                .build();
+    }
+
+    /**
+     * 배치 한 트랜잭션으로 저장, 실패하면 그 배치만 한 줄씩 다시 저장
+     * → 제약 위반 같은 문제 행만 실패로 기록되고 나머지는 가져옴
+     */
+    private void saveImportBatch(String ownerId, List<ImportRow> batch, ImportResult result) {
+        try {
+            writeImportRows(ownerId, batch);
+            result.imported += batch.size();
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                result.fail(batch.get(0).lineNo() + "행 저장 실패: " + batchFailure.getMessage());
+                return;
+            }
+            for (ImportRow row : batch) {
+                try {
+                    writeImportRows(ownerId, List.of(row));
+                    result.imported++;
+                } catch (RuntimeException e) {
+                    result.fail(row.lineNo() + "행 저장 실패: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void writeImportRows(String ownerId, List<ImportRow> batch) {
+        writeTransaction.executeWithoutResult(status -> {
+            List<String> tagNames = batch.stream()
+                    .map(row -> row.request().getTags())
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .toList();
+            Map<String, Tag> tags = resolveTags(ownerId, sanitizeTagNames(tagNames));
+
+            List<Note> notes = new ArrayList<>(batch.size());
+            for (ImportRow row : batch) {
+                Dtos.NoteCreateRequest req = row.request();
+                Note note = Note.builder()
+                        .title(req.getTitle())
+                        .snippet(generateSnippet(req.getSnippet(), req.getContent()))
+                        .author(ownerId)
+                        .date(Optional.ofNullable(req.getDate()).orElse(LocalDate.now()))
+                        .views(Optional.ofNullable(req.getViews()).orElse(0))
+                        .category(categoryRepository.getReferenceById(row.categoryId()))
+                        .content(req.getContent())
+                        .coverImageUrl(req.getCoverImageUrl())
+                        .build();
+                syncSections(note, req.getSections());
+                if (req.getTags() != null) {
+                    sanitizeTagNames(req.getTags())
+                            .forEach(name -> note.getTags().add(tags.get(Tag.keyOf(name))));
+                }
+                notes.add(note);
+            }
+            noteRepository.saveAll(notes);
+
+            Map<Long, Integer> tagDeltas = new HashMap<>();
+            for (Note note : notes) {
+                note.getTags().forEach(tag -> tagDeltas.merge(tag.getId(), 1, Integer::sum));
+            }
+            tagCountService.increment(ownerId, tagDeltas);
+            notes.forEach(note -> relatedNoteIndex.onSaved(ownerId, note));
+
+            Map<String, Long> countDeltas = new HashMap<>();
+            batch.forEach(row -> countDeltas.merge(row.categoryPath(), 1L, Long::sum));
+            categoryCache.adjustNoteCounts(ownerId, countDeltas);
+        });
+    }
+
+    private record ImportRow(int lineNo, Dtos.NoteCreateRequest request, Long categoryId, String categoryPath) {
+    }
+
+    private static final class ImportResult {
+        private int imported;
+        private int failed;
+        private final List<String> errors = new ArrayList<>();
+
+        private void fail(String message) {
+            failed++;
+            error(message);
+        }
+
+        private void error(String message) {
+            if (errors.size() < IMPORT_MAX_ERRORS) errors.add(message);
+        }
+    }
+
+    /* ===================== CATEGORY (내 카테고리만) ===================== */
+
+    public List<Dtos.CategoryNode> getCategoryTree() {
+        return getCategorySnapshot().tree();
+    }
+
+    /** 트리 + ETag (컨트롤러에서 304 판단용) */
+    public NoteCategoryCache.Snapshot getCategorySnapshot() {
+        return categoryCache.get(currentUserId());
+    }
+
+    public Dtos.CategoryNode getCategoryNode(Long id) {
+        String ownerId = currentUserId();
+
+        // 스냅샷은 내 카테고리만 담고 있으므로 남의 id는 자연스럽게 not found
+        return categoryCache.get(ownerId).node(id)
+                .orElseThrow(() -> new EntityNotFoundException("Category not found: " + id));
     }
 
     @Transactional
@@ -246,6 +521,7 @@ public class NoteService {
                 .build();
 
         Category saved = categoryRepository.save(c);
+        categoryCache.evict(ownerId);
         // path/depth는 @PrePersist에서 자동 계산된다고 가정
         return toNode(saved);
     }
@@ -261,6 +537,9 @@ public class NoteService {
             throw new EntityNotFoundException("Category not found: " + id);
         }
 
+        String oldPath = c.getPath();
+        int oldDepth = c.getDepth();
+
         if (req.getLabel() != null) c.setLabel(req.getLabel());
         if (req.getCode() != null) c.setCode(req.getCode());
         if (req.getSortOrder() != null) c.setSortOrder(req.getSortOrder());
@@ -271,14 +550,47 @@ public class NoteService {
             if (!ownerId.equals(parent.getOwnerId())) {
                 throw new IllegalStateException("다른 사용자의 카테고리를 부모로 지정할 수 없습니다.");
             }
+            if (parent.getId().equals(c.getId()) || parent.getPath().startsWith(oldPath + "/")) {
+                throw new IllegalStateException("자기 자신이나 하위 카테고리를 부모로 지정할 수 없습니다.");
+            }
             c.setParent(parent); // path/depth는 @PreUpdate에서 재계산
         } else if (Boolean.TRUE.equals(req.getDetachParent())) {
             c.setParent(null);
         }
 
+        String newPath = c.getParent() == null
+                ? "/" + c.getCode()
+                : c.getParent().getPath() + "/" + c.getCode();
+        if (!newPath.equals(oldPath)) {
+            int newDepth = c.getParent() == null ? 1 : c.getParent().getDepth() + 1;
+            moveSubtree(ownerId, oldPath, newPath, newDepth - oldDepth);
+            relatedNoteIndex.evict(ownerId);
+        }
+
+        categoryCache.evict(ownerId);
         return toNode(c);
     }
 
+    /**
+     * 하위 트리 이동/이름 변경: 후손 카테고리와 노트 denorm 경로를 집합 단위 UPDATE 2번으로 교체
+     * (이동 대상 행 자체는 flush 시 @PreUpdate가 처리)
+     */
+    private void moveSubtree(String ownerId, String oldPath, String newPath, int depthDelta) {
+        String descendantPattern = escapeLike(oldPath + "/") + "%";
+        int cut = oldPath.length() + 1;
+
+        String[] parts = newPath.split("/");
+        String top = parts[1];
+        String sub = parts.length >= 3 ? parts[2] : null;
+
+        categoryRepository.rewriteDescendantPaths(ownerId, descendantPattern, newPath, cut, depthDelta);
+        noteRepository.rewriteCategoryPaths(ownerId, oldPath, descendantPattern, newPath, cut, top, sub);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     @Transactional
     public void deleteCategory(Long id) {
         String ownerId = currentUserId();
@@ -300,10 +612,19 @@ public class NoteService {
             throw new IllegalStateException("해당 카테고리를 참조하는 노트가 있습니다.");
         }
         categoryRepository.delete(c);
+        categoryCache.evict(ownerId);
     }
 
     /* ===================== 내부 유틸/스펙/매핑 ===================== */
 
+    /** 노트 + 카테고리 + 태그 + 섹션을 쿼리 2번으로 적재 (toDetail에서 지연 로딩이 일어나지 않음) */
+    private Note loadDetail(Long id, String ownerId) {
+        Note note = noteRepository.findDetailById(id, ownerId)
+                .orElseThrow(() -> new EntityNotFoundException("Note not found: " + id));
+        noteRepository.findWithSectionsById(id);
+        return note;
+    }
+
     private static String normalizePathPrefix(String path) {
         if (path == null || path.isBlank()) return null;
         String p = path.trim();
@@ -311,8 +632,12 @@ public class NoteService {
         return p;
     }
 
+    /** 태그 id 목록 + AND(모두 포함)/OR(하나라도 포함) */
+    private record TagFilter(List<Long> tagIds, boolean matchAll) {
+    }
+
     /** 🔹 검색 + 카테고리 + 로그인 사용자(author) 필터 */
-    private Specification<Note> specFor(String q, String pathPrefix, String ownerId) {
+    private Specification<Note> specFor(String q, String pathPrefix, String ownerId, TagFilter tagFilter) {
         return (root, query, cb) -> {
             List<jakarta.persistence.criteria.Predicate> preds = new ArrayList<>();
 
@@ -332,6 +657,20 @@ public class NoteService {
                 preds.add(cb.like(root.get("categoryPath"), pathPrefix + "%"));
             }
 
+            if (tagFilter != null) {
+                // note_tags에서 tag_id로 노트 id만 뽑는 서브쿼리 (AND는 GROUP BY + HAVING으로 태그 수 일치)
+                var sub = query.subquery(Long.class);
+                var tagged = sub.from(Note.class);
+                var tag = tagged.join("tags");
+                sub.select(tagged.get("id"))
+                        .where(tag.get("id").in(tagFilter.tagIds()));
+                if (tagFilter.matchAll()) {
+                    sub.groupBy(tagged.get("id"))
+                            .having(cb.equal(cb.count(tag.get("id")), (long) tagFilter.tagIds().size()));
+                }
+                preds.add(root.get("id").in(sub));
+            }
+
             return preds.isEmpty()
                     ? cb.conjunction()
                     : cb.and(preds.toArray(new jakarta.persistence.criteria.Predicate[0]));
@@ -355,13 +694,14 @@ public class NoteService {
     private static Dtos.NoteDetailResponse toDetail(Note n) {
         List<String> tagNames = n.getTags() == null ? List.of()
                 : n.getTags().stream().map(Tag::getName).toList();
-        List<Dtos.NoteSectionBlock> sections = n.getSections() == null ? List.of()
-                : n.getSections().stream()
-                .map(section -> Dtos.NoteSectionBlock.builder()
-                        .title(section.getTitle())
-                        .imageUrl(section.getImageUrl())
-                        .description(section.getDescription())
-                        .sortOrder(section.getSortOrder())
+        List<NoteSection> stored = n.getSections() == null ? List.of() : n.getSections();
+        List<Dtos.NoteSectionBlock> sections = IntStream.range(0, stored.size())
+                .filter(i -> stored.get(i) != null)
+                .mapToObj(i -> Dtos.NoteSectionBlock.builder()
+                        .title(stored.get(i).getTitle())
+                        .imageUrl(stored.get(i).getImageUrl())
+                        .description(stored.get(i).getDescription())
+                        .sortOrder(i)
                         .build())
                 .toList();
 
@@ -401,125 +741,144 @@ public class NoteService {
         throw new IllegalArgumentException("카테고리 식별자(categoryId 또는 categoryCode)가 필요합니다.");
     }
 
-    private void syncSections(Note note, List<Dtos.NoteSectionBlock> blocks) {
-        note.getSections().clear();
-        if (blocks == null || blocks.isEmpty()) {
-            return;
+    /**
+     * 섹션 동기화 (diff)
+     * - sections는 sort_order를 인덱스로 쓰는 List라 위치별로 비교해서 바뀐 자리만 교체
+     *   → Hibernate가 바뀐 행 UPDATE, 늘어난 꼬리 INSERT, 줄어든 꼬리 DELETE만 실행
+     * - 요청 sortOrder(없으면 요청 순서) 기준으로 정렬 후 0..n-1로 다시 매김
+     */
+    private static void syncSections(Note note, List<Dtos.NoteSectionBlock> blocks) {
+        List<NoteSection> sections = note.getSections();
+        List<Dtos.NoteSectionBlock> ordered = blocks == null ? List.of()
+                : IntStream.range(0, blocks.size())
+                .filter(i -> blocks.get(i) != null)
+                .boxed()
+                .sorted(Comparator.comparingInt(i -> Optional.ofNullable(blocks.get(i).getSortOrder()).orElse(i)))
+                .map(blocks::get)
+                .toList();
+
+        for (int index = 0; index < ordered.size(); index++) {
+            Dtos.NoteSectionBlock block = ordered.get(index);
+            if (index < sections.size()) {
+                NoteSection current = sections.get(index);
+                if (current == null || !sameSection(current, block)) {
+                    sections.set(index, toSection(block));
+                }
+            } else {
+                sections.add(toSection(block));
+            }
         }
-        int index = 0;
-        for (Dtos.NoteSectionBlock block : blocks) {
-            if (block == null) continue;
-            NoteSection section = NoteSection.builder()
-                    .title(block.getTitle())
-                    .imageUrl(block.getImageUrl())
-                    .description(block.getDescription())
-                    .sortOrder(block.getSortOrder() != null ? block.getSortOrder() : index)
-                    .build();
-            note.getSections().add(section);
-            index++;
+        while (sections.size() > ordered.size()) {
+            sections.remove(sections.size() - 1);
         }
     }
 
+    private static boolean sameSection(NoteSection section, Dtos.NoteSectionBlock block) {
+        return Objects.equals(section.getTitle(), block.getTitle())
+                && Objects.equals(section.getImageUrl(), block.getImageUrl())
+                && Objects.equals(section.getDescription(), block.getDescription());
+    }
+
+    private static NoteSection toSection(Dtos.NoteSectionBlock block) {
+        return NoteSection.builder()
+                .title(block.getTitle())
+                .imageUrl(block.getImageUrl())
+                .description(block.getDescription())
+                .build();
+    }
+
+    /**
+     * 태그 동기화 (diff)
+     * - 빠진 태그만 제거, 새로 붙는 태그만 추가 → 그대로인 note_tags 행은 건드리지 않음
+     * - 새 태그 이름만 모아 resolveTags 한 번 (내 태그에서 키로 조회 + 없는 태그만 upsert)
+     */
     private void syncTags(Note note, List<String> tagNames) {
-        note.getTags().clear();
-        if (tagNames == null || tagNames.isEmpty()) {
-            return;
+        List<String> sanitized = tagNames == null ? List.of() : sanitizeTagNames(tagNames);
+        Set<String> wanted = sanitized.stream().map(Tag::keyOf).collect(Collectors.toSet());
+
+        List<Tag> removed = note.getTags().stream()
+                .filter(tag -> !wanted.contains(tag.getNameKey()))
+                .toList();
+        removed.forEach(note.getTags()::remove);
+
+        Set<String> present = note.getTags().stream()
+                .map(Tag::getNameKey)
+                .collect(Collectors.toSet());
+        List<String> missing = sanitized.stream()
+                .filter(name -> !present.contains(Tag.keyOf(name)))
+                .toList();
+        List<Tag> added = new ArrayList<>();
+        if (!missing.isEmpty()) {
+            Map<String, Tag> tags = resolveTags(note.getAuthor(), missing);
+            for (String name : missing) {
+                Tag tag = tags.get(Tag.keyOf(name));
+                if (note.getTags().add(tag)) added.add(tag);
+            }
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            tagCountService.apply(note.getAuthor(), added, removed);
         }
-        List<String> sanitized = sanitizeTagNames(tagNames);
+    }
+
+    /**
+     * 태그 이름(정제된 값) → 내 Tag, key는 Tag.keyOf
+     * - (owner_id, name_key) 인덱스로 한 번 조회
+     * - 없는 것만 upsert 후 다시 조회 → 다른 요청이 동시에 만든 태그도 같은 행을 받음
+     * - 다시 조회해도 없는 키가 있으면 IllegalStateException (null 태그를 노트에 넣지 않음)
+     */
+    private Map<String, Tag> resolveTags(String ownerId, List<String> sanitized) {
         if (sanitized.isEmpty()) {
-            return;
-        }
-        Map<String, Tag> existing = tagRepository.findByNameIn(sanitized).stream()
-                .collect(Collectors.toMap(t -> t.getName().toLowerCase(), Function.identity(), (a, b) -> a));
-        for (String name : sanitized) {
-            Tag tag = existing.get(name.toLowerCase());
-            if (tag == null) {
-                tag = Tag.builder().name(name).build();
+            return Map.of();
+        }
+        Map<String, String> nameByKey = new LinkedHashMap<>();
+        sanitized.forEach(name -> nameByKey.putIfAbsent(Tag.keyOf(name), name));
+
+        Map<String, Tag> tags = tagRepository.findByOwnerIdAndNameKeyIn(ownerId, nameByKey.keySet()).stream()
+                .collect(Collectors.toMap(Tag::getNameKey, Function.identity(), (a, b) -> a, HashMap::new));
+        List<String> missingKeys = nameByKey.keySet().stream()
+                .filter(key -> !tags.containsKey(key))
+                .toList();
+        if (!missingKeys.isEmpty()) {
+            missingKeys.forEach(key -> tagRepository.upsert(ownerId, nameByKey.get(key), key));
+            tagRepository.lockByOwnerIdAndNameKeyIn(ownerId, missingKeys)
+                    .forEach(tag -> tags.put(tag.getNameKey(), tag));
+            // upsert가 다른 유니크 키(예: 남은 tags.name 인덱스)에 걸리면 no-op → 행이 없으므로 여기서 중단
+            List<String> unresolved = missingKeys.stream()
+                    .filter(key -> !tags.containsKey(key))
+                    .toList();
+            if (!unresolved.isEmpty()) {
+                throw new IllegalStateException("태그를 저장하지 못했습니다: "
+                        + unresolved.stream().map(nameByKey::get).collect(Collectors.joining(", ")));
             }
-            note.getTags().add(tag);
         }
+        return tags;
     }
 
+    /** 공백 제거, 50자 제한, 대소문자만 다른 중복은 처음 것만 */
     private static List<String> sanitizeTagNames(List<String> tagNames) {
+        Set<String> seen = new HashSet<>();
         return tagNames.stream()
                 .filter(Objects::nonNull)
                 .map(String::trim)
                 .filter(StringUtils::hasText)
                 .map(name -> name.length() > 50 ? name.substring(0, 50) : name)
-                .distinct()
+                .filter(name -> seen.add(Tag.keyOf(name)))
                 .toList();
     }
 
     private static String generateSnippet(String preferredSnippet, String content) {
         if (StringUtils.hasText(preferredSnippet)) {
-            return truncateSnippet(preferredSnippet);
+            return NoteSnippets.truncate(preferredSnippet, SNIPPET_MAX_LENGTH);
         }
         if (!StringUtils.hasText(content)) {
             return null;
         }
-        String plain = stripMarkdown(content);
-        if (!StringUtils.hasText(plain)) {
-            return null;
-        }
-        return truncateSnippet(plain);
-    }
-
-    private static String truncateSnippet(String value) {
-        String normalized = value.replaceAll("\\s+", " ").trim();
-        if (normalized.length() <= SNIPPET_MAX_LENGTH) {
-            return normalized;
-        }
-        return normalized.substring(0, SNIPPET_MAX_LENGTH).trim() + "...";
-    }
-
-    private static String stripMarkdown(String source) {
-        String noCodeBlock = source.replaceAll("(?s)```.*?```", " ");
-        String noInlineCode = noCodeBlock.replaceAll("`[^`]*`", " ");
-        String noImage = noInlineCode.replaceAll("!\\[[^\\]]*\\]\\([^)]*\\)", " ");
-        String noLink = noImage.replaceAll("\\[[^\\]]*\\]\\([^)]*\\)", " ");
-        String noMarkup = noLink.replaceAll("[#>*_`~]", " ");
-        return noMarkup.replaceAll("\\s+", " ").trim();
-    }
-
-    private static List<Dtos.CategoryNode> buildTree(List<Category> all) {
-        Map<Long, Dtos.CategoryNode> byId = new LinkedHashMap<>();
-        for (Category c : all) {
-            byId.put(c.getId(), toNode(c));
-        }
-        List<Dtos.CategoryNode> roots = new ArrayList<>();
-        for (Category c : all) {
-            Dtos.CategoryNode node = byId.get(c.getId());
-            if (c.getParent() == null) {
-                roots.add(node);
-            } else {
-                Dtos.CategoryNode parent = byId.get(c.getParent().getId());
-                if (parent != null) parent.getChildren().add(node);
-            }
-        }
-        // 자식 정렬
-        roots.forEach(NoteService::sortRec);
-        return roots;
-    }
-
-    private static void sortRec(Dtos.CategoryNode n) {
-        n.getChildren().sort(
-                Comparator.comparing(Dtos.CategoryNode::getSortOrder)
-                        .thenComparing(Dtos.CategoryNode::getId)
-        );
-        n.getChildren().forEach(NoteService::sortRec);
+        // 본문 앞부분만 한 번 훑어서 SNIPPET_MAX_LENGTH 만큼 채우면 중단
+        return NoteSnippets.fromMarkdown(content, SNIPPET_MAX_LENGTH);
     }
 
     private static Dtos.CategoryNode toNode(Category c) {
-        return Dtos.CategoryNode.builder()
-                .id(c.getId())
-                .code(c.getCode())
-                .label(c.getLabel())
-                .path(c.getPath())
-                .depth(c.getDepth())
-                .sortOrder(Optional.ofNullable(c.getSortOrder()).orElse(0))
-                .parentId(c.getParent() == null ? null : c.getParent().getId())
-                .children(new ArrayList<>())
-                .build();
+        return NoteCategoryCache.toNode(c);
     }
 
 }
@@ -0,0 +1,117 @@
+package com.foongdoll.server.note.service;
+
+/**
+ * 노트 스니펫 생성기 (마크다운 → 평문 한 줄)
+ * - 본문을 앞에서부터 한 번만 훑으며 코드블록/인라인 코드/이미지/링크/마크업 문자를 제거하고 공백을 하나로 합침
+ * - 필요한 길이(maxLength + 1)만큼 모이면 즉시 중단 → 1MB 본문이어도 앞부분만 읽음
+ * - 정규식/중간 문자열을 만들지 않음
+ */
+final class NoteSnippets {
+
+    private static final String CODE_FENCE = "```";
+
+    private NoteSnippets() {
+    }
+
+    /** 마크다운 본문에서 스니펫 추출 (결과가 비면 null) */
+    static String fromMarkdown(String source, int maxLength) {
+        return scan(source, maxLength, true);
+    }
+
+    /** 사용자가 직접 입력한 스니펫: 공백만 정리하고 길이 제한 */
+    static String truncate(String value, int maxLength) {
+        return scan(value, maxLength, false);
+    }
+
+    private static String scan(String s, int maxLength, boolean markdown) {
+        if (s == null) {
+            return null;
+        }
+        int n = s.length();
+        StringBuilder out = new StringBuilder(Math.min(n, maxLength + 1));
+        boolean pendingSpace = false;
+        // 닫는 기호가 더 이상 없다는 것을 한 번 확인하면 이후로는 다시 찾지 않음 (최악의 경우에도 선형)
+        boolean noFenceClose = false;
+        boolean noBacktick = false;
+        boolean noLinkClose = false;
+
+        int i = 0;
+        while (i < n && out.length() <= maxLength) {
+            char ch = s.charAt(i);
+
+            if (markdown) {
+                if (ch == '`') {
+                    if (!noFenceClose && s.startsWith(CODE_FENCE, i)) {
+                        int close = s.indexOf(CODE_FENCE, i + CODE_FENCE.length());
+                        if (close >= 0) {
+                            pendingSpace = true;
+                            i = close + CODE_FENCE.length();
+                            continue;
+                        }
+                        noFenceClose = true;
+                    }
+                    int close = noBacktick ? -1 : s.indexOf('`', i + 1);
+                    if (close < 0) noBacktick = true;
+                    pendingSpace = true;
+                    i = close >= 0 ? close + 1 : i + 1;
+                    continue;
+                }
+                if ((ch == '[' || (ch == '!' && i + 1 < n && s.charAt(i + 1) == '[')) && !noLinkClose) {
+                    int end = linkEnd(s, ch == '!' ? i + 1 : i);
+                    if (end == -2) {
+                        noLinkClose = true;
+                    } else if (end >= 0) {
+                        pendingSpace = true;
+                        i = end + 1;
+                        continue;
+                    }
+                }
+                if (ch == '#' || ch == '>' || ch == '*' || ch == '_' || ch == '~') {
+                    pendingSpace = true;
+                    i++;
+                    continue;
+                }
+            }
+
+            if (isSpace(ch)) {
+                pendingSpace = true;
+            } else {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(ch);
+            }
+            i++;
+        }
+
+        if (out.length() == 0) {
+            return null;
+        }
+        if (out.length() <= maxLength) {
+            return out.toString();
+        }
+        return out.substring(0, maxLength).trim() + "...";
+    }
+
+    /**
+     * [text](url) 의 닫는 ')' 위치. open은 '[' 위치
+     * @return 위치, 형식이 아니면 -1, 뒤쪽에 ']' 또는 ')'가 전혀 없으면 -2
+     */
+    private static int linkEnd(String s, int open) {
+        int closeBracket = s.indexOf(']', open + 1);
+        if (closeBracket < 0) {
+            return -2;
+        }
+        if (closeBracket + 1 >= s.length() || s.charAt(closeBracket + 1) != '(') {
+            return -1;
+        }
+        int closeParen = s.indexOf(')', closeBracket + 2);
+        return closeParen < 0 ? -2 : closeParen;
+    }
+
+    /** 정규식 \s 와 같은 범위 */
+    private static boolean isSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+}
@@ -0,0 +1,603 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.domain.Tag;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.NoteRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 사용자(ownerId)별 관련 노트 인덱스 (메모리)
+ * - 노트마다 TF 상위 MAX_TERMS개 단어, 태그 id, 카테고리 경로만 보관 (본문은 보관하지 않음)
+ * - 단어/태그/경로별 역색인으로 후보를 좁힌 뒤 점수 계산
+ *   점수 = TF-IDF 코사인 · WEIGHT_TEXT + 태그 Jaccard · WEIGHT_TAG + 경로 근접도 · WEIGHT_PATH
+ * - 처음 조회할 때 백그라운드 워커에 적재를 예약하고, 준비될 때까지는 빈 목록 (요청 스레드에서 적재하지 않음)
+ * - 적재 중 커밋된 저장/삭제는 모아 두었다가 적재가 끝나면 순서대로 반영, 이후에는 커밋 후 바로 증분 반영
+ * - 카테고리 이동처럼 여러 노트 경로가 한꺼번에 바뀌면 evict → 다음 조회에서 다시 적재
+ * - 오래 조회되지 않은 사용자 인덱스는 주기적으로 내려서 메모리 유지
+ */
+@Slf4j
+@Component
+public class RelatedNoteIndex {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final int LOAD_QUEUE_SIZE = 100;
+    private static final int MAX_TERMS = 64;          // 노트당 보관 단어 수
+    private static final int QUERY_TERMS = 16;        // 후보 검색에 쓰는 단어 수
+    private static final int MAX_CANDIDATES = 5000;
+    private static final int PATH_CANDIDATES = 1000;  // 경로 근접만으로 넣는 후보 상한
+    private static final int MAX_SCAN_CHARS = 100_000;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final double WEIGHT_TEXT = 0.6;
+    private static final double WEIGHT_TAG = 0.25;
+    private static final double WEIGHT_PATH = 0.15;
+
+    private final NoteRepository noteRepository;
+    private final Duration idleTimeout;
+    private final Executor loader;
+    private final ExecutorService ownedLoader;
+
+    private final Map<String, OwnerIndex> indexes = new ConcurrentHashMap<>();
+    /** 적재 중인 사용자 → 그동안 커밋된 변경 */
+    private final Map<String, Loading> loading = new ConcurrentHashMap<>();
+    /** evict 횟수: 적재가 끝났을 때 값이 바뀌었으면 그 결과는 버리고 다시 적재 */
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RelatedNoteIndex(NoteRepository noteRepository,
+                            @Value("${app.note.related-idle-minutes:30}") long idleMinutes) {
+        this(noteRepository, idleMinutes, new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(LOAD_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "related-note-index");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    RelatedNoteIndex(NoteRepository noteRepository, long idleMinutes, Executor loader) {
+        this.noteRepository = noteRepository;
+        this.idleTimeout = Duration.ofMinutes(idleMinutes);
+        this.loader = loader;
+        this.ownedLoader = loader instanceof ExecutorService service ? service : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedLoader != null) ownedLoader.shutdownNow();
+    }
+
+    /** noteId와 비슷한 내 노트 상위 limit개 (자기 자신 제외). 인덱스가 준비 전이면 적재를 예약하고 빈 목록 */
+    public List<Dtos.RelatedNote> topK(String ownerId, Long noteId, int limit) {
+        OwnerIndex idx = indexes.get(ownerId);
+        if (idx == null) {
+            scheduleLoad(ownerId);
+            return List.of();
+        }
+        idx.lastAccess = System.currentTimeMillis();
+        return idx.topK(noteId, limit);
+    }
+
+    /**
+     * 저장된 노트 반영 (트랜잭션 안이면 커밋 후). 인덱스가 아직 없으면 다음 적재 때 포함됨
+     * - 값만 잡아 두고 토큰화는 반영할 인덱스나 진행 중인 적재가 있을 때만
+     */
+    public void onSaved(String ownerId, Note note) {
+        Long id = note.getId();
+        String title = note.getTitle();
+        String content = note.getContent();
+        String path = note.getCategory() != null ? note.getCategory().getPath() : note.getCategoryPath();
+        List<Long> tagIds = note.getTags().stream().map(Tag::getId).toList();
+        afterCommit(ownerId, idx -> idx.put(Doc.of(id, title, content, path, tagIds)));
+    }
+
+    public void onDeleted(String ownerId, Long noteId) {
+        afterCommit(ownerId, idx -> idx.remove(noteId));
+    }
+
+    /** 여러 노트 경로가 한꺼번에 바뀐 경우: 통째로 다시 적재 */
+    public void evict(String ownerId) {
+        generations.merge(ownerId, 1L, Long::sum);
+        indexes.remove(ownerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generations.merge(ownerId, 1L, Long::sum);
+                    indexes.remove(ownerId);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.note.related-sweep-ms:300000}")
+    public void dropIdleIndexes() {
+        long threshold = System.currentTimeMillis() - idleTimeout.toMillis();
+        indexes.entrySet().removeIf(e -> e.getValue().lastAccess < threshold);
+    }
+
+    private void afterCommit(String ownerId, Consumer<OwnerIndex> change) {
+        Runnable apply = () -> {
+            OwnerIndex idx = indexes.get(ownerId);
+            if (idx != null) {
+                change.accept(idx);
+                return;
+            }
+            // 적재 중이면 끝난 뒤 반영되도록 보관 (적재가 이미 읽은 노트여도 같은 결과라 다시 적용해도 무방)
+            Loading pending = loading.get(ownerId);
+            if (pending != null) {
+                pending.record(change, () -> indexes.get(ownerId));
+                return;
+            }
+            // 그 사이 적재가 끝나 설치된 경우 (설치 → loading 제거 순서)
+            idx = indexes.get(ownerId);
+            if (idx != null) change.accept(idx);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /** 같은 사용자는 동시에 한 번만 예약. 큐가 차 있으면 다음 조회 때 다시 시도 */
+    private void scheduleLoad(String ownerId) {
+        Loading pending = new Loading(generations.getOrDefault(ownerId, 0L));
+        if (loading.putIfAbsent(ownerId, pending) != null) return;
+        try {
+            loader.execute(() -> runLoad(ownerId, pending));
+        } catch (RejectedExecutionException e) {
+            loading.remove(ownerId, pending);
+        }
+    }
+
+    private void runLoad(String ownerId, Loading pending) {
+        OwnerIndex loaded;
+        try {
+            loaded = load(ownerId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load related-note index for {}", ownerId, e);
+            loading.remove(ownerId, pending);
+            return;
+        }
+        if (!pending.install(loaded, generations.getOrDefault(ownerId, 0L), () -> indexes.put(ownerId, loaded))) {
+            // 적재 중 evict됨: 이 결과는 버리고 다음 조회에서 다시 적재
+            log.debug("Discarded stale related-note index for {}", ownerId);
+        }
+        loading.remove(ownerId, pending);
+    }
+
+    /** id keyset으로 배치 조회 (본문은 DB에서 잘라 받고 토큰화 후 바로 버림) */
+    private OwnerIndex load(String ownerId) {
+        long started = System.nanoTime();
+        OwnerIndex idx = new OwnerIndex();
+        long afterId = 0L;
+        while (true) {
+            List<NoteRepository.IndexRow> rows = noteRepository.findIndexBatch(
+                    ownerId, afterId, MAX_SCAN_CHARS, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (rows.isEmpty()) break;
+
+            List<Long> ids = rows.stream().map(NoteRepository.IndexRow::getId).toList();
+            Map<Long, List<Long>> tagsByNote = new HashMap<>();
+            for (NoteRepository.NoteTagRow row : noteRepository.findTagIdsByNoteIds(ids)) {
+                tagsByNote.computeIfAbsent(row.getNoteId(), k -> new ArrayList<>()).add(row.getTagId());
+            }
+            for (NoteRepository.IndexRow row : rows) {
+                idx.put(Doc.of(row.getId(), row.getTitle(), row.getContent(), row.getCategoryPath(),
+                        tagsByNote.getOrDefault(row.getId(), List.of())));
+            }
+            afterId = ids.get(ids.size() - 1);
+            if (rows.size() < LOAD_BATCH_SIZE) break;
+        }
+        idx.refreshNorms();
+        log.debug("Loaded related-note index for {}: {} notes in {} ms",
+                ownerId, idx.size(), (System.nanoTime() - started) / 1_000_000);
+        return idx;
+    }
+
+    /** 테스트/진단용: 적재된 인덱스의 단어 사전 크기 (없으면 -1) */
+    int termCount(String ownerId) {
+        OwnerIndex idx = indexes.get(ownerId);
+        return idx == null ? -1 : idx.termCount();
+    }
+
+    /**
+     * 적재 한 번의 상태
+     * - 적재 중 커밋된 변경은 pending에 쌓고, 설치할 때 같은 락 안에서 순서대로 적용
+     * - 설치 뒤 도착한 변경은 설치된 인덱스에 바로 적용
+     */
+    private static final class Loading {
+        private final long generation;
+        private final List<Consumer<OwnerIndex>> pending = new ArrayList<>();
+        private boolean closed;
+
+        Loading(long generation) {
+            this.generation = generation;
+        }
+
+        synchronized void record(Consumer<OwnerIndex> change, Supplier<OwnerIndex> installed) {
+            if (!closed) {
+                pending.add(change);
+                return;
+            }
+            OwnerIndex idx = installed.get();
+            if (idx != null) change.accept(idx);
+        }
+
+        synchronized boolean install(OwnerIndex loaded, long currentGeneration, Runnable publish) {
+            closed = true;
+            if (currentGeneration != generation) return false;
+            pending.forEach(change -> change.accept(loaded));
+            pending.clear();
+            publish.run();
+            return true;
+        }
+    }
+
+    /* ===================== 인덱스 본체 ===================== */
+
+    private static final class OwnerIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Map<String, Integer> termIds = new HashMap<>();          // 단어 사전 (비교는 정수로)
+        private final List<Set<Long>> termPostings = new ArrayList<>();       // 단어 id → 노트 (크기 = df)
+        private final List<String> termNames = new ArrayList<>();             // 단어 id → 단어 (비면 null)
+        private final Deque<Integer> freeTermIds = new ArrayDeque<>();        // 노트가 없어진 단어 id 재사용
+        private final Map<Long, Set<Long>> tagPostings = new HashMap<>();
+        private final Map<String, Set<Long>> pathPostings = new HashMap<>();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return docs.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Doc doc) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(doc.id);
+                docs.put(doc.id, doc);
+                int[] ids = new int[doc.terms.length];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = termIds.computeIfAbsent(doc.terms[i], this::allocateTermId);
+                }
+                doc.bind(ids);
+                for (int termId : doc.termIds) termPostings.get(termId).add(doc.id);
+                for (long tagId : doc.tagIds) tagPostings.computeIfAbsent(tagId, k -> new HashSet<>()).add(doc.id);
+                if (doc.path != null) pathPostings.computeIfAbsent(doc.path, k -> new HashSet<>()).add(doc.id);
+                doc.norm = norm(weights(doc, docs.size()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int termCount() {
+            lock.readLock().lock();
+            try {
+                return termIds.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private int allocateTermId(String term) {
+            Integer free = freeTermIds.poll();
+            if (free != null) {
+                termNames.set(free, term);
+                return free;
+            }
+            termPostings.add(new HashSet<>());
+            termNames.add(term);
+            return termPostings.size() - 1;
+        }
+
+        /**
+         * 노트별 벡터 크기를 현재 df로 다시 계산
+         * 증분 반영 시에는 그 시점 df로 계산해 두므로 약간 어긋날 수 있음 (다시 적재되면 맞춰짐)
+         */
+        void refreshNorms() {
+            lock.writeLock().lock();
+            try {
+                int n = docs.size();
+                for (Doc doc : docs.values()) doc.norm = norm(weights(doc, n));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long noteId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(noteId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long noteId) {
+            Doc old = docs.remove(noteId);
+            if (old == null) return;
+            for (int termId : old.termIds) {
+                Set<Long> ids = termPostings.get(termId);
+                if (ids.remove(noteId) && ids.isEmpty()) {
+                    // 어느 노트에도 없는 단어는 사전에서 빼고 id는 재사용 (편집이 쌓여도 사전이 커지지 않음)
+                    termIds.remove(termNames.get(termId));
+                    termNames.set(termId, null);
+                    freeTermIds.push(termId);
+                }
+            }
+            for (long tagId : old.tagIds) detach(tagPostings, tagId, noteId);
+            if (old.path != null) detach(pathPostings, old.path, noteId);
+        }
+
+        private static <K> void detach(Map<K, Set<Long>> postings, K key, Long noteId) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null && ids.remove(noteId) && ids.isEmpty()) postings.remove(key);
+        }
+
+        List<Dtos.RelatedNote> topK(Long noteId, int limit) {
+            lock.readLock().lock();
+            try {
+                Doc query = docs.get(noteId);
+                if (query == null || limit <= 0) return List.of();
+                int n = docs.size();
+
+                double[] queryWeights = weights(query, n);
+                double queryNorm = norm(queryWeights);
+
+                // 후보: 가중치 큰 단어(너무 흔한 단어 제외) + 같은 태그 + 같은/부모 경로
+                Set<Long> candidates = new HashSet<>();
+                int commonLimit = Math.max(100, n / 10);
+                Integer[] order = new Integer[query.termIds.length];
+                for (int i = 0; i < order.length; i++) order[i] = i;
+                Arrays.sort(order, (a, b) -> Double.compare(queryWeights[b], queryWeights[a]));
+                for (int i = 0; i < order.length && i < QUERY_TERMS; i++) {
+                    Set<Long> posting = termPostings.get(query.termIds[order[i]]);
+                    if (posting.size() <= commonLimit) addCapped(candidates, posting);
+                }
+                for (long tagId : query.tagIds) addCapped(candidates, tagPostings.get(tagId));
+                if (query.path != null) {
+                    // 경로만 같은 노트는 점수 기여가 작으므로 후보가 모자랄 때만 채움
+                    addCapped(candidates, pathPostings.get(query.path), PATH_CANDIDATES);
+                    String parent = parentPath(query.path);
+                    if (parent != null) addCapped(candidates, pathPostings.get(parent), PATH_CANDIDATES);
+                }
+                candidates.remove(noteId);
+
+                PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+                for (Long id : candidates) {
+                    Doc other = docs.get(id);
+                    if (other == null) continue;
+                    double text = cosine(query, queryWeights, queryNorm, other, n);
+                    double tags = jaccard(query.tagIds, other.tagIds);
+                    double path = pathProximity(query.path, other.path);
+                    double score = text * WEIGHT_TEXT + tags * WEIGHT_TAG + path * WEIGHT_PATH;
+                    if (score <= 0) continue;
+                    best.add(new Scored(other, score));
+                    if (best.size() > limit) best.poll();
+                }
+
+                List<Dtos.RelatedNote> result = new ArrayList<>(best.size());
+                while (!best.isEmpty()) {
+                    Scored s = best.poll();
+                    result.add(Dtos.RelatedNote.builder()
+                            .id(s.doc().id)
+                            .title(s.doc().title)
+                            .categoryPath(s.doc().path)
+                            .score(Math.round(s.score() * 1000) / 1000.0)
+                            .build());
+                }
+                Collections.reverse(result);
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static void addCapped(Set<Long> into, Set<Long> ids) {
+            addCapped(into, ids, MAX_CANDIDATES);
+        }
+
+        private static void addCapped(Set<Long> into, Set<Long> ids, int cap) {
+            if (ids == null) return;
+            for (Long id : ids) {
+                if (into.size() >= cap) return;
+                into.add(id);
+            }
+        }
+
+        private double idf(int termId, int n) {
+            return Math.log((n + 1.0) / (termPostings.get(termId).size() + 1.0)) + 1.0;
+        }
+
+        private double[] weights(Doc doc, int n) {
+            double[] w = new double[doc.termIds.length];
+            for (int i = 0; i < w.length; i++) w[i] = doc.tf[i] * idf(doc.termIds[i], n);
+            return w;
+        }
+
+        /** 두 노트 모두 termIds가 정렬되어 있어 병합 한 번으로 내적 (idf는 겹치는 단어만 계산, 크기는 저장된 값) */
+        private double cosine(Doc a, double[] aWeights, double aNorm, Doc b, int n) {
+            if (aNorm == 0 || b.norm == 0) return 0;
+            double dot = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.termIds.length && j < b.termIds.length) {
+                int x = a.termIds[i];
+                int y = b.termIds[j];
+                if (x == y) dot += aWeights[i++] * b.tf[j++] * idf(x, n);
+                else if (x < y) i++;
+                else j++;
+            }
+            return Math.min(1.0, dot / (aNorm * b.norm));
+        }
+
+        private static double norm(double[] w) {
+            double sum = 0;
+            for (double v : w) sum += v * v;
+            return Math.sqrt(sum);
+        }
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) return 0;
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) i++;
+            else j++;
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /** 공통 상위 경로 세그먼트 수 / 더 깊은 쪽 깊이 (/dev/front vs /dev/back → 1/2) */
+    private static double pathProximity(String a, String b) {
+        if (a == null || b == null) return 0;
+        String[] as = a.split("/");
+        String[] bs = b.split("/");
+        int depth = Math.max(as.length, bs.length) - 1; // 선행 "" 제외
+        if (depth <= 0) return 0;
+        int common = 0;
+        for (int i = 1; i < as.length && i < bs.length && as[i].equals(bs[i]); i++) common++;
+        return (double) common / depth;
+    }
+
+    private static String parentPath(String path) {
+        int idx = path.lastIndexOf('/');
+        return idx <= 0 ? null : path.substring(0, idx);
+    }
+
+    private record Scored(Doc doc, double score) {
+    }
+
+    /**
+     * 인덱스에 보관하는 노트 요약. tf = 1 + log(빈도), norm = TF-IDF 벡터 크기
+     * terms(문자열)는 인덱스에 넣을 때 단어 id(termIds, 오름차순)로 바뀌고 버려짐
+     */
+    private static final class Doc {
+        private final long id;
+        private final String title;
+        private final String path;
+        private final long[] tagIds;
+        private String[] terms;
+        private int[] termIds;
+        private double[] tf;
+        private double norm;
+
+        private Doc(long id, String title, String path, long[] tagIds, String[] terms, double[] tf) {
+            this.id = id;
+            this.title = title;
+            this.path = path;
+            this.tagIds = tagIds;
+            this.terms = terms;
+            this.tf = tf;
+        }
+
+        /** 단어 id 배정 후 id 오름차순으로 재배열 */
+        void bind(int[] ids) {
+            long[] packed = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) packed[i] = ((long) ids[i] << 32) | i;
+            Arrays.sort(packed);
+            int[] sortedIds = new int[ids.length];
+            double[] sortedTf = new double[ids.length];
+            for (int i = 0; i < packed.length; i++) {
+                sortedIds[i] = (int) (packed[i] >>> 32);
+                sortedTf[i] = tf[(int) packed[i]];
+            }
+            this.termIds = sortedIds;
+            this.tf = sortedTf;
+            this.terms = null;
+        }
+
+        static Doc of(Long id, String title, String content, String path, Collection<Long> tagIds) {
+            Map<String, Integer> counts = new HashMap<>();
+            tokenize(title, 2, counts); // 제목 단어는 가중
+            tokenize(content, 1, counts);
+
+            // 빈도 상위 MAX_TERMS개만 (크기 제한 힙)
+            PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(MAX_TERMS + 1,
+                    Map.Entry.<String, Integer>comparingByValue()
+                            .thenComparing(Map.Entry.<String, Integer>comparingByKey().reversed()));
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                heap.add(entry);
+                if (heap.size() > MAX_TERMS) heap.poll();
+            }
+            List<Map.Entry<String, Integer>> top = new ArrayList<>(heap);
+            String[] terms = new String[top.size()];
+            double[] tf = new double[top.size()];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = top.get(i).getKey();
+                tf[i] = 1 + Math.log(top.get(i).getValue());
+            }
+            long[] tags = tagIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue)
+                    .distinct().sorted().toArray();
+            return new Doc(id, title, path, tags, terms, tf);
+        }
+
+        /** 문자/숫자 연속 구간을 단어로. 한글은 조사가 붙으므로 2글자 단위(bigram)로 쪼갬 */
+        private static void tokenize(String text, int weight, Map<String, Integer> counts) {
+            if (text == null) return;
+            int n = Math.min(text.length(), MAX_SCAN_CHARS);
+            int i = 0;
+            while (i < n) {
+                while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+                int start = i;
+                boolean hasLetter = false;
+                while (i < n && Character.isLetterOrDigit(text.charAt(i))) {
+                    hasLetter |= Character.isLetter(text.charAt(i));
+                    i++;
+                }
+                int length = i - start;
+                if (length < 2 || length > MAX_TOKEN_LENGTH || !hasLetter) continue;
+                String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (isHangul(token.charAt(0)) && length > 2) {
+                    for (int k = 0; k + 2 <= length; k++) counts.merge(token.substring(k, k + 2), weight, Integer::sum);
+                } else {
+                    counts.merge(token, weight, Integer::sum);
+                }
+            }
+        }
+
+        private static boolean isHangul(char ch) {
+            return Character.UnicodeScript.of(ch) == Character.UnicodeScript.HANGUL;
+        }
+    }
+}
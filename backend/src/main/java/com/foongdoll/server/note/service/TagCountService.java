@@ -0,0 +1,95 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Tag;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.TagCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 태그 사용 횟수 카운터 (tag_counts)
+ * - 노트 저장/삭제 시 바뀐 태그만 증감 → 태그 클라우드는 카운터 테이블만 읽음
+ * - 증가는 INSERT ... ON DUPLICATE KEY UPDATE 로 원자적, 0이 된 행은 정리
+ * - 시작 시 비어 있으면 채우고, 매일 한 번 note_tags 기준으로 다시 계산해 어긋난 값을 보정
+ * - 재계산은 사용자별 트랜잭션 → 전체 테이블을 한 번에 비우지 않고, 한 사용자 행만 잠깐 잠금
+ */
+@Slf4j
+@Service
+public class TagCountService {
+
+    private static final int MAX_CLOUD_SIZE = 200;
+
+    private final TagCountRepository tagCountRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public TagCountService(TagCountRepository tagCountRepository, PlatformTransactionManager transactionManager) {
+        this.tagCountRepository = tagCountRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /** 한 노트의 태그 변경분 반영 */
+    @Transactional
+    public void apply(String ownerId, Collection<Tag> added, Collection<Tag> removed) {
+        for (Tag tag : added) {
+            tagCountRepository.increment(ownerId, tag.getId(), 1);
+        }
+        if (!removed.isEmpty()) {
+            tagCountRepository.decrement(ownerId, removed.stream().map(Tag::getId).toList(), 1);
+            tagCountRepository.deleteEmpty(ownerId);
+        }
+    }
+
+    /** 여러 노트를 한 번에 만든 경우(가져오기): 태그 id → 증가량 */
+    @Transactional
+    public void increment(String ownerId, Map<Long, Integer> deltas) {
+        deltas.forEach((tagId, delta) -> tagCountRepository.increment(ownerId, tagId, delta));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Dtos.TagCloudItem> top(String ownerId, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_CLOUD_SIZE);
+        return tagCountRepository.findTopByOwner(ownerId, PageRequest.of(0, size)).stream()
+                .map(f -> Dtos.TagCloudItem.builder().name(f.getName()).noteCount(f.getNoteCount()).build())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        if (tagCountRepository.count() == 0) {
+            recount();
+        }
+    }
+
+    @Scheduled(cron = "${app.note.tag-count-rebuild-cron:0 45 4 * * *}")
+    public void rebuild() {
+        recount();
+    }
+
+    private void recount() {
+        int rows = 0;
+        for (String ownerId : tagCountRepository.findCountOwners()) {
+            rows += recount(ownerId);
+        }
+        log.info("Recounted tag usage: {} owner/tag rows", rows);
+    }
+
+    /** 사용자 한 명: 지우고 다시 넣기를 한 트랜잭션으로 */
+    int recount(String ownerId) {
+        Integer rows = writeTransaction.execute(status -> {
+            tagCountRepository.deleteByOwner(ownerId);
+            return tagCountRepository.insertRecounted(ownerId);
+        });
+        return rows == null ? 0 : rows;
+    }
+}
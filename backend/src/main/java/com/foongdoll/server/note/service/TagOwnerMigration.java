@@ -0,0 +1,170 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 전역 태그 → 사용자별 태그 (한 번만 도는 마이그레이션)
+ * - owner_id/name_key 컬럼이 생기기 전 태그는 빈 문자열(또는 NULL)로 남음 → name_key 조회/필터에 걸리지 않음
+ * - 예전 tags.name 단일 유니크 인덱스를 지움 (ddl-auto는 인덱스를 지우지 않음, 남으면 다른 사용자 같은 이름 upsert가 no-op)
+ * - 예전 태그마다 그 태그를 쓴 노트 작성자별로 (owner_id, name_key) 태그를 찾거나 만들고 note_tags를 옮긴 뒤 예전 행 삭제
+ * - 빈 name_key 행이 여럿이면 ddl-auto가 (owner_id, name_key) 유니크를 못 만들었을 수 있음 → 정리 후 없으면 추가
+ * - 트래픽을 받기 전(싱글톤 초기화 직후) 실행, 예전 태그가 없으면 인덱스 메타데이터만 확인
+ */
+@Slf4j
+@Service
+public class TagOwnerMigration implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 200;
+
+    private static final String FIND_LEGACY = """
+            SELECT id, name FROM tags
+             WHERE owner_id = '' OR owner_id IS NULL
+             ORDER BY id
+             LIMIT ?
+            """;
+
+    private static final String FIND_AUTHORS = """
+            SELECT DISTINCT n.author FROM note_tags nt
+              JOIN notes n ON n.id = nt.note_id
+             WHERE nt.tag_id = ?
+            """;
+
+    /** 같은 노트에 새 태그가 이미 있으면 (note_id, tag_id) 중복이므로 예전 연결만 삭제 */
+    private static final String DELETE_DUPLICATE_LINKS = """
+            DELETE FROM note_tags
+             WHERE tag_id = ?
+               AND note_id IN (SELECT note_id FROM (SELECT note_id FROM note_tags WHERE tag_id = ?) existing)
+               AND note_id IN (SELECT id FROM notes WHERE author = ?)
+            """;
+
+    private static final String REPOINT_LINKS = """
+            UPDATE note_tags SET tag_id = ?
+             WHERE tag_id = ?
+               AND note_id IN (SELECT id FROM notes WHERE author = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TagCountService tagCountService;
+
+    public TagOwnerMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             TagCountService tagCountService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.tagCountService = tagCountService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int tags = migrate();
+        if (tags > 0) {
+            log.info("Moved {} global tags to per-owner tags", tags);
+            tagCountService.rebuild();
+        }
+    }
+
+    /** 예전 태그를 모두 옮기고 옮긴(삭제한) 예전 태그 수 반환 */
+    public int migrate() {
+        dropLegacyNameIndex();
+        int total = 0;
+        while (true) {
+            List<LegacyTag> batch = jdbcTemplate.query(FIND_LEGACY,
+                    (rs, rowNum) -> new LegacyTag(rs.getLong(1), rs.getString(2)), BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            writeTransaction.executeWithoutResult(status -> batch.forEach(this::moveToOwners));
+            total += batch.size();
+        }
+        ensureOwnerKeyIndex();
+        return total;
+    }
+
+    private void moveToOwners(LegacyTag legacy) {
+        String name = legacy.name() == null ? "" : legacy.name().trim();
+        String key = Tag.keyOf(name);
+        for (String author : jdbcTemplate.queryForList(FIND_AUTHORS, String.class, legacy.id())) {
+            if (key.isEmpty() || author == null || author.isEmpty()) {
+                continue;
+            }
+            Long tagId = findOrCreate(author, name, key);
+            jdbcTemplate.update(DELETE_DUPLICATE_LINKS, legacy.id(), tagId, author);
+            jdbcTemplate.update(REPOINT_LINKS, tagId, legacy.id(), author);
+        }
+        // 작성자가 없거나 이름이 빈 태그의 남은 연결, 예전 카운터 행
+        jdbcTemplate.update("DELETE FROM note_tags WHERE tag_id = ?", legacy.id());
+        jdbcTemplate.update("DELETE FROM tag_counts WHERE tag_id = ?", legacy.id());
+        jdbcTemplate.update("DELETE FROM tags WHERE id = ?", legacy.id());
+    }
+
+    /** 유니크 키가 아직 없을 수 있으므로 upsert 대신 조회 후 INSERT (트래픽 전이라 경쟁 없음) */
+    private Long findOrCreate(String ownerId, String name, String key) {
+        List<Long> existing = jdbcTemplate.queryForList(
+                "SELECT id FROM tags WHERE owner_id = ? AND name_key = ? ORDER BY id", Long.class, ownerId, key);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        jdbcTemplate.update("INSERT INTO tags (owner_id, name, name_key) VALUES (?, ?, ?)", ownerId, name, key);
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM tags WHERE owner_id = ? AND name_key = ?", Long.class, ownerId, key);
+    }
+
+    private void dropLegacyNameIndex() {
+        for (Map.Entry<String, List<String>> index : uniqueIndexes().entrySet()) {
+            if (index.getValue().equals(List.of("name"))) {
+                jdbcTemplate.execute("ALTER TABLE tags DROP INDEX " + index.getKey());
+                log.info("Dropped legacy unique index {} on tags.name", index.getKey());
+            }
+        }
+    }
+
+    private void ensureOwnerKeyIndex() {
+        boolean present = uniqueIndexes().values().stream()
+                .anyMatch(columns -> columns.equals(List.of("owner_id", "name_key")));
+        if (!present) {
+            jdbcTemplate.execute("ALTER TABLE tags ADD CONSTRAINT uk_tag_owner_key UNIQUE (owner_id, name_key)");
+            log.info("Added unique key uk_tag_owner_key on tags(owner_id, name_key)");
+        }
+    }
+
+    /** tags의 유니크 인덱스 이름 → 컬럼 목록 (소문자, 순서대로, JDBC 메타데이터라 DB 종류와 무관) */
+    private Map<String, List<String>> uniqueIndexes() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, List<String>>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "TAGS" : "tags";
+            Map<String, List<String>> indexes = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    table, true, false)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue;
+                    }
+                    // getIndexInfo는 INDEX_NAME, ORDINAL_POSITION 순으로 정렬되어 있음
+                    indexes.computeIfAbsent(indexName, name -> new ArrayList<>())
+                            .add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+            return indexes;
+        });
+    }
+
+    private record LegacyTag(long id, String name) {
+    }
+}
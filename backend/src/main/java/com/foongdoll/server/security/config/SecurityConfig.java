@@ -38,6 +38,8 @@ public class SecurityConfig {
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/docs/**", "/actuator/**", "/api/geocode", "/uploads/**","/ws/**").permitAll()
+                        // 서버 전체 자산 제공 통계는 관리자만 (사용자별 데이터가 아님)
+                        .requestMatchers("/api/note/assets/stats").hasRole("ADMIN")
                         .requestMatchers("/api/schedules/**", "/api/note/**", "/api/ledger/**").hasRole("USER")
                         .anyRequest().authenticated()
                 )
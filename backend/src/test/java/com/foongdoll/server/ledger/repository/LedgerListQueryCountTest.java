@@ -0,0 +1,112 @@
+package com.foongdoll.server.ledger.repository;
+
+import com.foongdoll.server.ledger.domain.LedgerCategory;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가계부 목록 / 최근 거래 SQL 수 (user-045)
+ * - 목록: category fetch join SELECT 1번 + count 1번, 행마다 카테고리 조회 없음
+ * - 최근 거래: SELECT 1번
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LedgerListQueryCountTest {
+
+    private static final String OWNER = "lister";
+    private static final LocalDate START = LocalDate.of(2024, 5, 1);
+    private static final LocalDate END = LocalDate.of(2024, 5, 31);
+
+    @Autowired
+    private LedgerTransactionRepository transactionRepository;
+    @Autowired
+    private LedgerCategoryRepository categoryRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<LedgerCategory> categories = List.of(category("food"), category("rent"), category("travel"));
+        for (int i = 0; i < 12; i++) {
+            transactionRepository.save(LedgerTransaction.builder()
+                    .ownerId(OWNER)
+                    .category(categories.get(i % categories.size()))
+                    .flowType(LedgerFlowType.EXPENSE)
+                    .transactionDate(START.plusDays(i))
+                    .amount(BigDecimal.valueOf(1000L + i))
+                    .memo("tx " + i)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageLoadsCategoriesWithOneSelectPlusCount() {
+        Page<LedgerTransaction> page = transactionRepository.findPageWithCategory(
+                LedgerTransactionSpecifications.ownedBy(OWNER)
+                        .and(LedgerTransactionSpecifications.between(START, END)),
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "transactionDate", "id")));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.getContent()).extracting(transaction -> transaction.getCategory().getName())
+                .containsExactly("travel", "rent", "food", "travel", "rent");
+
+        // 목록 SELECT (카테고리 fetch join) + count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void pageSkipsCountWhenFirstPageIsNotFull() {
+        Page<LedgerTransaction> page = transactionRepository.findPageWithCategory(
+                LedgerTransactionSpecifications.ownedBy(OWNER), PageRequest.of(0, 50));
+
+        assertThat(page.getContent()).hasSize(12);
+        page.getContent().forEach(transaction -> transaction.getCategory().getName());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void recentLoadsCategoriesWithOneSelect() {
+        List<LedgerTransaction> recent = transactionRepository.findRecentWithCategory(
+                OWNER, START, END, null, PageRequest.of(0, 5));
+
+        assertThat(recent).extracting(LedgerTransaction::getMemo)
+                .containsExactly("tx 11", "tx 10", "tx 9", "tx 8", "tx 7");
+        recent.forEach(transaction -> transaction.getCategory().getName());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private LedgerCategory category(String name) {
+        return categoryRepository.save(LedgerCategory.builder()
+                .ownerId(OWNER)
+                .name(name)
+                .defaultFlowType(LedgerFlowType.EXPENSE)
+                .build());
+    }
+}
@@ -0,0 +1,80 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 카테고리 캐시 공유 (user-044)
+ * - 응답 DTO에는 setter가 있으므로 호출자가 고친 값이 캐시에 남으면 안 됨
+ */
+@DataJpaTest
+@Import({LedgerService.class, LedgerCategoryCache.class, LedgerFieldIndexService.class})
+class LedgerCategoryCacheTest {
+
+    private static final String OWNER = "cacher";
+
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private LedgerCategoryCache categoryCache;
+
+    @MockitoBean
+    private LedgerRollupService rollupService;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.login(OWNER);
+        LedgerDtos.CategoryRequest request = new LedgerDtos.CategoryRequest();
+        request.setName("living");
+        request.setFields(List.of(LedgerDtos.CategoryFieldDto.builder()
+                .key("qty")
+                .label("수량")
+                .fieldType(LedgerCategoryField.FieldType.NUMBER)
+                .build()));
+        categoryId = ledgerService.createCategory(request).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestUsers.logout();
+    }
+
+    @Test
+    void callersGetCopies() {
+        LedgerDtos.CategoryResponse listed = ledgerService.getCategories().get(0);
+        listed.setName("changed");
+        listed.getFields().get(0).setLabel("changed");
+
+        LedgerDtos.TransactionRequest request = new LedgerDtos.TransactionRequest();
+        request.setCategoryId(categoryId);
+        request.setFlowType(LedgerFlowType.EXPENSE);
+        request.setTransactionDate(LocalDate.of(2024, 3, 1));
+        request.setAmount(new BigDecimal("1000"));
+        LedgerDtos.CategoryResponse embedded = ledgerService.createTransaction(request).getCategory();
+        embedded.setColor("#000000");
+
+        LedgerDtos.CategoryResponse cached = categoryCache.get(OWNER).entry(categoryId).orElseThrow().response();
+        assertThat(cached).isNotSameAs(listed).isNotSameAs(embedded);
+        assertThat(cached.getName()).isEqualTo("living");
+        assertThat(cached.getFields().get(0).getLabel()).isEqualTo("수량");
+        assertThat(cached.getColor()).isNotEqualTo("#000000");
+        assertThat(ledgerService.getCategories().get(0).getName()).isEqualTo("living");
+    }
+}
@@ -0,0 +1,128 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerTransactionField;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.ledger.repository.LedgerTransactionFieldRepository;
+import com.foongdoll.server.support.TestUsers;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 카테고리 항목 정의 변경 시 재색인 (user-046)
+ * - 타입이 바뀐 항목은 num_value/date_value가 새 타입으로 채워짐 → 범위 검색 가능
+ * - 정의에서 빠진 항목의 색인 행은 삭제
+ */
+@DataJpaTest
+@Import({LedgerService.class, LedgerCategoryCache.class, LedgerFieldIndexService.class})
+class LedgerCategoryReindexTest {
+
+    private static final String OWNER = "indexer";
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private LedgerTransactionFieldRepository fieldRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private LedgerRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        TestUsers.login(OWNER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestUsers.logout();
+    }
+
+    @Test
+    void reindexesTransactionsWhenFieldTypesChange() {
+        Long categoryId = ledgerService.createCategory(categoryRequest(
+                field("size", LedgerCategoryField.FieldType.TEXT),
+                field("note", LedgerCategoryField.FieldType.TEXT))).getId();
+        transaction(categoryId, "12");
+        transaction(categoryId, "7");
+        transaction(categoryId, "30");
+        entityManager.flush();
+        assertThat(fieldRepository.findAll()).extracting(LedgerTransactionField::getNumValue).containsOnlyNulls();
+
+        ledgerService.updateCategory(categoryId, categoryRequest(
+                field("size", LedgerCategoryField.FieldType.NUMBER)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LedgerTransactionField> rows = fieldRepository.findAll();
+        assertThat(rows).extracting(LedgerTransactionField::getFieldKey).containsOnly("size");
+        assertThat(rows).extracting(LedgerTransactionField::getNumValue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("12"), new BigDecimal("7"), new BigDecimal("30"));
+
+        LedgerDtos.TransactionSearchRequest search = new LedgerDtos.TransactionSearchRequest();
+        search.setStartDate(DATE);
+        search.setEndDate(DATE);
+        search.setFieldKey("size");
+        search.setFieldMin("10");
+        // 문자열 비교였다면 "7" > "10" 이므로 3건
+        assertThat(ledgerService.getTransactions(search).getItems()).hasSize(2);
+    }
+
+    @Test
+    void keepsIndexWhenOnlyLabelsChange() {
+        Long categoryId = ledgerService.createCategory(categoryRequest(
+                field("size", LedgerCategoryField.FieldType.NUMBER))).getId();
+        transaction(categoryId, "5");
+        entityManager.flush();
+        Long rowId = fieldRepository.findAll().get(0).getId();
+
+        LedgerDtos.CategoryFieldDto relabeled = field("size", LedgerCategoryField.FieldType.NUMBER);
+        relabeled.setLabel("크기");
+        ledgerService.updateCategory(categoryId, categoryRequest(relabeled));
+        entityManager.flush();
+
+        assertThat(fieldRepository.findAll()).extracting(LedgerTransactionField::getId).containsExactly(rowId);
+    }
+
+    private static LedgerDtos.CategoryRequest categoryRequest(LedgerDtos.CategoryFieldDto... fields) {
+        LedgerDtos.CategoryRequest request = new LedgerDtos.CategoryRequest();
+        request.setName("goods");
+        request.setFields(List.of(fields));
+        return request;
+    }
+
+    private static LedgerDtos.CategoryFieldDto field(String key, LedgerCategoryField.FieldType type) {
+        return LedgerDtos.CategoryFieldDto.builder()
+                .key(key)
+                .label(key)
+                .fieldType(type)
+                .build();
+    }
+
+    private void transaction(Long categoryId, String size) {
+        LedgerDtos.TransactionRequest request = new LedgerDtos.TransactionRequest();
+        request.setCategoryId(categoryId);
+        request.setFlowType(LedgerFlowType.EXPENSE);
+        request.setTransactionDate(DATE);
+        request.setAmount(new BigDecimal("1000"));
+        request.setMetadata(Map.of("size", size, "note", "n" + size));
+        ledgerService.createTransaction(request);
+    }
+}
@@ -0,0 +1,355 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.ledger.repository.LedgerBulkRepository;
+import com.foongdoll.server.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 거래 파일 가져오기 (user-047)
+ * - CSV: 따옴표 안 쉼표/줄바꿈, "" 이스케이프, 헤더 BOM
+ * - OFX: 닫는 태그 없는 SGML 형식과 한 줄 XML 형식, 소문자 태그
+ * - 행 변환: 음수 금액/수입·지출 규칙, 소수점 자리, 파일 안 같은 내용의 순번 해시
+ * - 저장: 이미 가져온 해시는 중복, 배치 실패 시 행마다 다시 시도
+ */
+class LedgerImportServiceTest {
+
+    private static final String OWNER = "importer";
+    private static final long FOOD = 1L;
+    private static final long SALARY = 2L;
+
+    private LedgerCategoryCache.Snapshot snapshot;
+    private LedgerBulkRepository bulkRepository;
+    private LedgerRollupService rollupService;
+    private LedgerImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = snapshot();
+        LedgerCategoryCache categoryCache = mock(LedgerCategoryCache.class);
+        when(categoryCache.get(OWNER)).thenReturn(snapshot);
+        bulkRepository = mock(LedgerBulkRepository.class);
+        rollupService = mock(LedgerRollupService.class);
+        importService = new LedgerImportService(categoryCache, rollupService, bulkRepository,
+                mock(PlatformTransactionManager.class));
+        TestUsers.login(OWNER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestUsers.logout();
+    }
+
+    /* ==================== CSV ==================== */
+
+    @Test
+    void splitsQuotedCells() {
+        assertThat(LedgerImportService.splitCsv("a,\"b,c\",,\"say \"\"hi\"\"\",")).containsExactly(
+                "a", "b,c", "", "say \"hi\"", "");
+        assertThat(LedgerImportService.splitCsv("")).containsExactly("");
+        assertThat(LedgerImportService.splitCsv("\"\"")).containsExactly("");
+    }
+
+    @Test
+    void readsCsvWithBomQuotedNewlinesAndBlankLines() throws IOException {
+        List<LedgerImportService.RawRow> rows = readCsv("""
+                \uFEFFdate,amount,memo,category
+                2024-01-02,"1,200","line one
+                line two",식비
+
+                2024-01-03,500,"say ""hi""\",
+                """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).lineNo()).isEqualTo(2);
+        assertThat(rows.get(0).values()).containsEntry("date", "2024-01-02")
+                .containsEntry("amount", "1,200")
+                .containsEntry("memo", "line one\nline two")
+                .containsEntry("category", "식비");
+        // 여러 줄에 걸친 행 다음 빈 줄을 건너뛴 뒤의 줄 번호
+        assertThat(rows.get(1).lineNo()).isEqualTo(5);
+        assertThat(rows.get(1).values()).containsEntry("memo", "say \"hi\"").containsEntry("category", "");
+    }
+
+    @Test
+    void rejectsCsvWithoutRequiredHeader() {
+        assertThatThrownBy(() -> readCsv("when,amount\n2024-01-01,1\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("date");
+    }
+
+    /* ==================== OFX ==================== */
+
+    @Test
+    void readsSgmlAndXmlStyleOfx() throws IOException {
+        List<LedgerImportService.RawRow> rows = new ArrayList<>();
+        LedgerImportService.readOfx(reader("""
+                OFXHEADER:100
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240105120000[-5:EST]
+                <TRNAMT>-12.50
+                <FITID>A1
+                <NAME>COFFEE
+                <MEMO>CARD 1234
+                </STMTTRN>
+                <stmttrn><trntype>CREDIT</trntype><dtposted>20240106</dtposted><trnamt>1000.00</trnamt><fitid>A2</fitid><name>PAY</name><memo>PAY</memo></stmttrn>
+                <STMTTRN><TRNAMT>5</TRNAMT>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """), rows::add);
+
+        // 닫히지 않은 마지막 STMTTRN은 버림
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).lineNo()).isEqualTo(3);
+        assertThat(rows.get(0).externalId()).isEqualTo("A1");
+        assertThat(rows.get(0).values()).containsEntry("date", "20240105")
+                .containsEntry("amount", "-12.50")
+                .containsEntry("memo", "COFFEE CARD 1234");
+        assertThat(rows.get(1).lineNo()).isEqualTo(11);
+        assertThat(rows.get(1).externalId()).isEqualTo("A2");
+        assertThat(rows.get(1).values()).containsEntry("date", "20240106")
+                .containsEntry("amount", "1000.00")
+                .containsEntry("memo", "PAY");
+    }
+
+    /* ==================== 행 변환 ==================== */
+
+    @Test
+    void appliesSignAndFlowTypeRules() {
+        LedgerImportService.ImportContext context = context(FOOD);
+
+        // CSV 음수 → 지출, 양수 + 구분 없음 → 카테고리 기본값
+        assertThat(tx(context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "-3,000")))))
+                .satisfies(tx -> {
+                    assertThat(tx.flowType()).isEqualTo(LedgerFlowType.EXPENSE);
+                    assertThat(tx.amount()).isEqualByComparingTo("3000");
+                });
+        assertThat(tx(context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "3000",
+                "category", "salary")))).flowType()).isEqualTo(LedgerFlowType.INCOME);
+        assertThat(tx(context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "3000")))).flowType())
+                .isEqualTo(LedgerFlowType.EXPENSE);
+        // 음수라도 명시한 구분은 유지하고 금액만 양수로
+        assertThat(tx(context.toImportRow(csv(Map.of("date", "2024/01/01", "amount", "-10",
+                "flowType", "수입"))))).satisfies(tx -> {
+            assertThat(tx.flowType()).isEqualTo(LedgerFlowType.INCOME);
+            assertThat(tx.amount()).isEqualByComparingTo("10");
+            assertThat(tx.transactionDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        });
+        // OFX 양수는 입금 → 수입
+        assertThat(tx(context.toImportRow(new LedgerImportService.RawRow(1,
+                Map.of("date", "20240101", "amount", "25.00"), "FIT-1"))).flowType())
+                .isEqualTo(LedgerFlowType.INCOME);
+    }
+
+    @Test
+    void rejectsInvalidAmountsAndFields() {
+        LedgerImportService.ImportContext context = context(FOOD);
+
+        assertThatThrownBy(() -> context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "0"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "1.005"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> context.toImportRow(csv(Map.of("date", "2024-13-01", "amount", "1"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "1",
+                "flowType", "transfer")))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "1",
+                "qty", "many")))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> context.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "1",
+                "category", "없는 카테고리")))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void hashesRepeatedRowsByOccurrenceAndStaysStableAcrossFiles() {
+        Map<String, String> values = Map.of("date", "2024-01-01", "amount", "4500", "memo", "coffee", "qty", "2");
+        LedgerImportService.ImportContext first = context(FOOD);
+        String a1 = first.toImportRow(csv(values)).hash();
+        String a2 = first.toImportRow(csv(values)).hash();
+        String other = first.toImportRow(csv(Map.of("date", "2024-01-01", "amount", "4500", "memo", "tea"))).hash();
+
+        // 같은 날 같은 금액 두 건은 다른 해시, 다시 올린 파일에서는 같은 순서로 같은 해시
+        assertThat(a1).isNotEqualTo(a2).isNotEqualTo(other);
+        LedgerImportService.ImportContext second = context(FOOD);
+        assertThat(second.toImportRow(csv(values)).hash()).isEqualTo(a1);
+        assertThat(second.toImportRow(csv(values)).hash()).isEqualTo(a2);
+        // 금액 표기(4500 / 4500.00)가 달라도 같은 내용
+        assertThat(context(FOOD).toImportRow(csv(Map.of("date", "2024-01-01", "amount", "4500.00",
+                "memo", "coffee"))).hash()).isEqualTo(a1);
+
+        LedgerImportService.ImportContext otherOwner = new LedgerImportService.ImportContext(
+                "someone-else", snapshot, FOOD);
+        assertThat(otherOwner.toImportRow(csv(values)).hash()).isNotEqualTo(a1);
+    }
+
+    @Test
+    void keepsOnlyDefinedFieldsTyped() {
+        LedgerImportService.ImportRow row = context(FOOD).toImportRow(csv(Map.of(
+                "date", "2024-01-01", "amount", "100", "qty", "1,234", "unknown", "x")));
+
+        assertThat(row.transaction().metadata()).containsOnlyKeys("qty");
+        assertThat((BigDecimal) row.transaction().metadata().get("qty")).isEqualByComparingTo("1234");
+    }
+
+    /* ==================== 저장 ==================== */
+
+    @Test
+    void countsExistingHashesAsDuplicates() {
+        Set<String> committed = stubDatabase(Set.of());
+        String csv = "date,amount,memo\n2024-01-01,100,a\n2024-01-02,200,b\n";
+        LedgerDtos.ImportResponse first = importCsv(csv);
+        assertThat(first.getImported()).isEqualTo(2);
+        assertThat(committed).hasSize(2);
+
+        LedgerDtos.ImportResponse again = importCsv(csv);
+        assertThat(again.getImported()).isZero();
+        assertThat(again.getDuplicates()).isEqualTo(2);
+    }
+
+    @Test
+    void retriesFailedBatchRowByRow() {
+        // 다른 업로드가 "race" 행을 먼저 넣어 배치 INSERT가 유니크 위반으로 실패, "broken" 행은 계속 실패
+        Set<String> committed = stubDatabase(Set.of("race", "broken"));
+
+        LedgerDtos.ImportResponse response = importCsv("""
+                date,amount,memo
+                2024-01-01,100,a
+                2024-01-02,200,race
+                2024-01-03,300,broken
+                2024-01-04,400,b
+                """);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().asString().startsWith("4행 저장 실패");
+        assertThat(committed).hasSize(3);
+        verify(rollupService).addTotals(eq(OWNER), eq(LocalDate.of(2024, 1, 1)), eq(FOOD),
+                eq(LedgerFlowType.EXPENSE), any(), eq(1L));
+    }
+
+    @Test
+    void reportsEmptyFile() {
+        stubDatabase(Set.of());
+        LedgerDtos.ImportResponse response = importService.importTransactions(
+                new MockMultipartFile("file", "empty.csv", "text/csv", "\n\n".getBytes(StandardCharsets.UTF_8)),
+                null, FOOD);
+
+        assertThat(response.getImported()).isZero();
+        assertThat(response.getErrors()).containsExactly("빈 파일입니다.");
+    }
+
+    /**
+     * 가짜 저장소: 커밋된 해시 집합을 유지
+     * - failingMemos의 행이 두 건 이상인 INSERT에 섞이면 실패 ("race"는 실패 직전에 다른 업로드가 커밋)
+     * - "broken"은 혼자 넣어도 실패
+     */
+    private Set<String> stubDatabase(Set<String> failingMemos) {
+        Set<String> committed = new HashSet<>();
+        Map<String, Long> ids = new HashMap<>();
+        when(bulkRepository.findExistingImportHashes(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> hashes = invocation.getArgument(0);
+            return hashes.stream().filter(committed::contains).collect(Collectors.toSet());
+        });
+        doAnswer(invocation -> {
+            List<LedgerBulkRepository.NewTransaction> rows = invocation.getArgument(0);
+            boolean race = rows.stream().anyMatch(row -> failingMemos.contains(row.memo()));
+            if (race && rows.size() > 1) {
+                rows.stream().filter(row -> "race".equals(row.memo()))
+                        .forEach(row -> committed.add(row.importHash()));
+                throw new DuplicateKeyException("ux_ledger_tx_import_hash");
+            }
+            if (rows.stream().anyMatch(row -> "broken".equals(row.memo()))) {
+                throw new IllegalStateException("broken row");
+            }
+            rows.forEach(row -> {
+                committed.add(row.importHash());
+                ids.put(row.importHash(), (long) ids.size() + 1);
+            });
+            return null;
+        }).when(bulkRepository).insertTransactions(anyList());
+        when(bulkRepository.findIdsByImportHash(anyCollection())).thenAnswer(invocation -> ids);
+        return committed;
+    }
+
+    private LedgerDtos.ImportResponse importCsv(String content) {
+        return importService.importTransactions(
+                new MockMultipartFile("file", "bank.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8)),
+                null, FOOD);
+    }
+
+    private LedgerImportService.ImportContext context(Long defaultCategoryId) {
+        return new LedgerImportService.ImportContext(OWNER, snapshot, defaultCategoryId);
+    }
+
+    private List<LedgerImportService.RawRow> readCsv(String content) throws IOException {
+        List<LedgerImportService.RawRow> rows = new ArrayList<>();
+        LedgerImportService.readCsv(reader(content), rows::add, context(FOOD));
+        return rows;
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+
+    private static LedgerImportService.RawRow csv(Map<String, String> values) {
+        return new LedgerImportService.RawRow(2, values, null);
+    }
+
+    private static LedgerBulkRepository.NewTransaction tx(LedgerImportService.ImportRow row) {
+        return row.transaction();
+    }
+
+    private static LedgerCategoryCache.Snapshot snapshot() {
+        LedgerDtos.CategoryResponse food = LedgerDtos.CategoryResponse.builder()
+                .id(FOOD)
+                .name("식비")
+                .defaultFlowType(LedgerFlowType.EXPENSE)
+                .build();
+        LedgerDtos.CategoryResponse salary = LedgerDtos.CategoryResponse.builder()
+                .id(SALARY)
+                .name("Salary")
+                .defaultFlowType(LedgerFlowType.INCOME)
+                .build();
+        Map<String, LedgerCategoryField> foodFields = LedgerCategoryCache.fieldMap(List.of(
+                LedgerCategoryField.builder().key("qty").label("수량")
+                        .fieldType(LedgerCategoryField.FieldType.NUMBER).build()));
+        return new LedgerCategoryCache.Snapshot(0, Map.of(
+                FOOD, new LedgerCategoryCache.Entry(food, foodFields),
+                SALARY, new LedgerCategoryCache.Entry(salary, Map.of())),
+                List.of(salary, food));
+    }
+}
@@ -0,0 +1,74 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 집계용 long 금액 (user-049)
+ * - 소수 2자리를 넘는 금액, long 범위를 넘는 금액/합계는 IllegalStateException
+ * - 백분율 분모 0은 0
+ */
+class LedgerMoneyTest {
+
+    @Test
+    void convertsToMinorUnits() {
+        assertThat(LedgerMoney.toMinor(new BigDecimal("1.23"))).isEqualTo(123);
+        assertThat(LedgerMoney.toMinor(new BigDecimal("5"))).isEqualTo(500);
+        assertThat(LedgerMoney.toMinor(new BigDecimal("1.230"))).isEqualTo(123);
+        assertThat(LedgerMoney.toMinor(new BigDecimal("-0.01"))).isEqualTo(-1);
+        assertThat(LedgerMoney.toDecimal(123)).isEqualTo(new BigDecimal("1.23"));
+
+        assertThatThrownBy(() -> LedgerMoney.toMinor(new BigDecimal("1.234")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toMinorStopsAtLongBoundary() {
+        assertThat(LedgerMoney.toMinor(new BigDecimal("92233720368547758.07"))).isEqualTo(Long.MAX_VALUE);
+        assertThat(LedgerMoney.toMinor(new BigDecimal("-92233720368547758.08"))).isEqualTo(Long.MIN_VALUE);
+
+        assertThatThrownBy(() -> LedgerMoney.toMinor(new BigDecimal("92233720368547758.08")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void addFailsOnOverflow() {
+        assertThat(LedgerMoney.add(Long.MAX_VALUE - 1, 1)).isEqualTo(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> LedgerMoney.add(Long.MAX_VALUE, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(ArithmeticException.class);
+
+        LedgerMoney.FlowTotals totals = new LedgerMoney.FlowTotals();
+        totals.add(LedgerFlowType.INCOME, Long.MAX_VALUE);
+        totals.add(LedgerFlowType.EXPENSE, -1);
+        assertThatThrownBy(totals::net).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void percentageOfZeroIsZero() {
+        assertThat(LedgerMoney.percentage(500, 0)).isZero();
+        assertThat(LedgerMoney.percentage(0, 0)).isZero();
+        assertThat(LedgerMoney.percentage(1, 3)).isEqualTo(33.33);
+        assertThat(LedgerMoney.percentage(2, 3)).isEqualTo(66.67);
+        assertThat(LedgerMoney.percentage(Long.MAX_VALUE, Long.MAX_VALUE)).isEqualTo(100.0);
+    }
+
+    @Test
+    void flowTotalsSplitIncomeAndExpense() {
+        LedgerMoney.FlowTotals totals = new LedgerMoney.FlowTotals();
+        totals.add(LedgerFlowType.INCOME, new BigDecimal("1000.50"));
+        totals.add(LedgerFlowType.EXPENSE, new BigDecimal("250.25"));
+        totals.add(LedgerFlowType.EXPENSE, new BigDecimal("0.25"));
+
+        assertThat(totals.incomeAmount()).isEqualTo(new BigDecimal("1000.50"));
+        assertThat(totals.expenseAmount()).isEqualTo(new BigDecimal("250.50"));
+        assertThat(totals.net()).isEqualTo(75000);
+    }
+}
@@ -0,0 +1,99 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategory;
+import com.foongdoll.server.ledger.domain.LedgerDailyRollup;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.domain.LedgerTransaction;
+import com.foongdoll.server.ledger.repository.LedgerCategoryRepository;
+import com.foongdoll.server.ledger.repository.LedgerDailyRollupRepository;
+import com.foongdoll.server.ledger.repository.LedgerTransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 소유자 없는 가계부 행 배정 (user-050)
+ * - 빈 owner_id 행만 app.ledger.legacy-owner-id로 옮기고 다른 사용자 행은 그대로
+ * - 두 번째 실행은 옮길 행이 없음
+ */
+@DataJpaTest(properties = "app.ledger.legacy-owner-id=legacy")
+@Import({LedgerOwnerBackfill.class, LedgerCategoryCache.class})
+class LedgerOwnerBackfillTest {
+
+    private static final LocalDate DATE = LocalDate.of(2023, 12, 24);
+
+    @Autowired
+    private LedgerOwnerBackfill backfill;
+    @Autowired
+    private LedgerCategoryCache categoryCache;
+    @Autowired
+    private LedgerCategoryRepository categoryRepository;
+    @Autowired
+    private LedgerTransactionRepository transactionRepository;
+    @Autowired
+    private LedgerDailyRollupRepository dailyRollupRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void assignsOwnerlessRowsToLegacyOwner() {
+        LedgerCategory orphanCategory = category("", "old");
+        LedgerCategory aliceCategory = category("alice", "mine");
+        transaction("", orphanCategory, "5000");
+        transaction("", orphanCategory, "7000");
+        transaction("alice", aliceCategory, "100");
+        dailyRollupRepository.save(LedgerDailyRollup.builder()
+                .ownerId("")
+                .date(DATE)
+                .categoryId(orphanCategory.getId())
+                .flowType(LedgerFlowType.EXPENSE)
+                .total(new BigDecimal("12000"))
+                .count(2)
+                .build());
+        entityManager.flush();
+        assertThat(categoryCache.get("legacy").sortedByName()).isEmpty();
+
+        // 카테고리 1 + 거래 2 + 일별 롤업 1
+        assertThat(backfill.backfill()).isEqualTo(4);
+        entityManager.clear();
+
+        assertThat(categoryRepository.findAllByOwnerId("legacy", Sort.by("name")))
+                .extracting(LedgerCategory::getName).containsExactly("old");
+        assertThat(categoryRepository.findAllByOwnerId("", Sort.by("name"))).isEmpty();
+        assertThat(transactionRepository.findAll())
+                .extracting(LedgerTransaction::getOwnerId)
+                .containsExactlyInAnyOrder("legacy", "legacy", "alice");
+        assertThat(dailyRollupRepository.findByOwnerIdAndDateBetween("legacy", DATE, DATE))
+                .extracting(LedgerDailyRollup::getCount).containsExactly(2L);
+        // 캐시에 남은 빈 스냅샷은 비워짐
+        assertThat(categoryCache.get("legacy").sortedByName()).hasSize(1);
+
+        assertThat(backfill.backfill()).isZero();
+    }
+
+    private LedgerCategory category(String ownerId, String name) {
+        return categoryRepository.save(LedgerCategory.builder()
+                .ownerId(ownerId)
+                .name(name)
+                .defaultFlowType(LedgerFlowType.EXPENSE)
+                .build());
+    }
+
+    private void transaction(String ownerId, LedgerCategory category, String amount) {
+        transactionRepository.save(LedgerTransaction.builder()
+                .ownerId(ownerId)
+                .category(category)
+                .flowType(LedgerFlowType.EXPENSE)
+                .transactionDate(DATE)
+                .amount(new BigDecimal(amount))
+                .build());
+    }
+}
@@ -0,0 +1,103 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerRollupPeriod;
+import com.foongdoll.server.ledger.service.LedgerRollupService.Segment;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.foongdoll.server.ledger.domain.LedgerRollupPeriod.DAY;
+import static com.foongdoll.server.ledger.domain.LedgerRollupPeriod.MONTH;
+import static com.foongdoll.server.ledger.domain.LedgerRollupPeriod.YEAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기간 조회 구간 분해 (user-043)
+ * - [start, end]를 통째로 들어가는 가장 큰 단위로 쪼개고, 같은 단위가 이어지면 한 구간으로
+ * - 월말 · 윤년 경계, coarsest 제한
+ */
+class LedgerRollupDecomposeTest {
+
+    @Test
+    void splitsIntoWidestPeriods() {
+        assertThat(LedgerRollupService.decompose(date("2023-11-15"), date("2025-02-10"), YEAR)).containsExactly(
+                segment(DAY, "2023-11-15", "2023-11-30"),
+                segment(MONTH, "2023-12-01", "2023-12-01"),
+                segment(YEAR, "2024-01-01", "2024-01-01"),
+                segment(MONTH, "2025-01-01", "2025-01-01"),
+                segment(DAY, "2025-02-01", "2025-02-10"));
+    }
+
+    @Test
+    void singleDayStaysDay() {
+        assertThat(LedgerRollupService.decompose(date("2024-03-05"), date("2024-03-05"), YEAR))
+                .containsExactly(segment(DAY, "2024-03-05", "2024-03-05"));
+        // 월 시작일이어도 하루면 일 단위
+        assertThat(LedgerRollupService.decompose(date("2024-03-01"), date("2024-03-01"), YEAR))
+                .containsExactly(segment(DAY, "2024-03-01", "2024-03-01"));
+    }
+
+    @Test
+    void wholeYearsMergeIntoOneSegment() {
+        assertThat(LedgerRollupService.decompose(date("2022-01-01"), date("2024-12-31"), YEAR))
+                .containsExactly(segment(YEAR, "2022-01-01", "2024-01-01"));
+        // 마지막 날이 하루 모자라면 그 해는 월 + 일로
+        assertThat(LedgerRollupService.decompose(date("2023-01-01"), date("2023-12-30"), YEAR)).containsExactly(
+                segment(MONTH, "2023-01-01", "2023-11-01"),
+                segment(DAY, "2023-12-01", "2023-12-30"));
+    }
+
+    @Test
+    void handlesMonthEndsAndLeapYears() {
+        assertThat(LedgerRollupService.decompose(date("2024-02-01"), date("2024-02-29"), YEAR))
+                .containsExactly(segment(MONTH, "2024-02-01", "2024-02-01"));
+        assertThat(LedgerRollupService.decompose(date("2024-02-01"), date("2024-02-28"), YEAR))
+                .containsExactly(segment(DAY, "2024-02-01", "2024-02-28"));
+        assertThat(LedgerRollupService.decompose(date("2023-02-01"), date("2023-02-28"), YEAR))
+                .containsExactly(segment(MONTH, "2023-02-01", "2023-02-01"));
+        assertThat(LedgerRollupService.decompose(date("2024-01-31"), date("2024-03-31"), YEAR)).containsExactly(
+                segment(DAY, "2024-01-31", "2024-01-31"),
+                segment(MONTH, "2024-02-01", "2024-03-01"));
+        assertThat(LedgerRollupService.decompose(date("2024-02-29"), date("2025-02-28"), YEAR)).containsExactly(
+                segment(DAY, "2024-02-29", "2024-02-29"),
+                segment(MONTH, "2024-03-01", "2025-02-01"));
+    }
+
+    @Test
+    void respectsCoarsestPeriod() {
+        assertThat(LedgerRollupService.decompose(date("2023-11-15"), date("2025-02-10"), MONTH)).containsExactly(
+                segment(DAY, "2023-11-15", "2023-11-30"),
+                segment(MONTH, "2023-12-01", "2025-01-01"),
+                segment(DAY, "2025-02-01", "2025-02-10"));
+        assertThat(LedgerRollupService.decompose(date("2024-01-01"), date("2024-12-31"), DAY))
+                .containsExactly(segment(DAY, "2024-01-01", "2024-12-31"));
+    }
+
+    @Test
+    void emptyWhenEndBeforeStart() {
+        assertThat(LedgerRollupService.decompose(date("2024-01-02"), date("2024-01-01"), YEAR)).isEmpty();
+    }
+
+    @Test
+    void widestAtAndTruncate() {
+        assertThat(LedgerRollupService.widestAt(date("2024-01-01"), date("2024-12-31"), YEAR)).isEqualTo(YEAR);
+        assertThat(LedgerRollupService.widestAt(date("2024-01-01"), date("2024-12-30"), YEAR)).isEqualTo(MONTH);
+        assertThat(LedgerRollupService.widestAt(date("2024-01-01"), date("2024-12-31"), MONTH)).isEqualTo(MONTH);
+        assertThat(LedgerRollupService.widestAt(date("2024-01-02"), date("2024-12-31"), YEAR)).isEqualTo(DAY);
+
+        assertThat(LedgerRollupService.truncate(date("2024-02-29"), DAY)).isEqualTo(date("2024-02-29"));
+        assertThat(LedgerRollupService.truncate(date("2024-02-29"), MONTH)).isEqualTo(date("2024-02-01"));
+        assertThat(LedgerRollupService.truncate(date("2024-12-31"), YEAR)).isEqualTo(date("2024-01-01"));
+        assertThat(LedgerRollupService.next(date("2024-01-31"), DAY)).isEqualTo(date("2024-02-01"));
+        assertThat(LedgerRollupService.next(date("2024-02-01"), MONTH)).isEqualTo(date("2024-03-01"));
+        assertThat(LedgerRollupService.next(date("2024-01-01"), YEAR)).isEqualTo(date("2025-01-01"));
+    }
+
+    private static Segment segment(LedgerRollupPeriod period, String from, String to) {
+        return new Segment(period, date(from), date(to));
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,173 @@
+package com.foongdoll.server.ledger.service;
+
+import com.foongdoll.server.ledger.domain.LedgerCategoryField;
+import com.foongdoll.server.ledger.domain.LedgerFlowType;
+import com.foongdoll.server.ledger.model.LedgerDtos;
+import com.foongdoll.server.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 합계 (user-041)
+ * - sumTotals는 목록과 같은 조건으로 집계 → 합계가 걸러진 행의 합과 같아야 함
+ * - 소유자 · 키워드 · metadata 항목(ledger_tx_field) 조건을 모두 포함
+ */
+@DataJpaTest
+@Import({LedgerService.class, LedgerCategoryCache.class, LedgerFieldIndexService.class})
+class LedgerTransactionTotalsTest {
+
+    private static final String OWNER = "saver";
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @MockitoBean
+    private LedgerRollupService rollupService;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        // 다른 사용자 거래는 어떤 조건에서도 합계에 들어가면 안 됨
+        TestUsers.login("other");
+        Long otherCategory = category();
+        transaction(otherCategory, LedgerFlowType.EXPENSE, "9000", "coffee", "card", 3);
+        transaction(otherCategory, LedgerFlowType.INCOME, "9000", "salary", "bank", 3);
+
+        TestUsers.login(OWNER);
+        categoryId = category();
+        transaction(categoryId, LedgerFlowType.EXPENSE, "4500", "coffee beans", "card", 1);
+        transaction(categoryId, LedgerFlowType.EXPENSE, "12000", "lunch", "card", 2);
+        transaction(categoryId, LedgerFlowType.EXPENSE, "3000", "coffee", "cash", 5);
+        transaction(categoryId, LedgerFlowType.INCOME, "250000", "salary", "bank", 1);
+        transaction(categoryId, LedgerFlowType.INCOME, "8000", "refund", "card", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestUsers.logout();
+    }
+
+    @Test
+    void totalsMatchAllOwnRows() {
+        LedgerDtos.TransactionListResponse response = search(request -> {
+        });
+
+        assertThat(response.getItems()).hasSize(5);
+        assertTotalsMatchItems(response);
+        assertThat(response.getTotalIncome()).isEqualByComparingTo("258000");
+        assertThat(response.getTotalExpense()).isEqualByComparingTo("19500");
+    }
+
+    @Test
+    void totalsFollowKeywordFilter() {
+        LedgerDtos.TransactionListResponse memo = search(request -> request.setKeyword("coffee"));
+        assertThat(memo.getItems()).hasSize(2);
+        assertTotalsMatchItems(memo);
+        assertThat(memo.getTotalExpense()).isEqualByComparingTo("7500");
+        assertThat(memo.getTotalIncome()).isEqualByComparingTo("0");
+
+        // 키워드는 wallet에도 적용
+        LedgerDtos.TransactionListResponse wallet = search(request -> request.setKeyword("card"));
+        assertThat(wallet.getItems()).hasSize(3);
+        assertTotalsMatchItems(wallet);
+        assertThat(wallet.getTotalExpense()).isEqualByComparingTo("16500");
+        assertThat(wallet.getTotalIncome()).isEqualByComparingTo("8000");
+    }
+
+    @Test
+    void totalsFollowFieldFilter() {
+        LedgerDtos.TransactionListResponse range = search(request -> {
+            request.setFieldKey("qty");
+            request.setFieldMin("2");
+            request.setFieldMax("4");
+        });
+        assertThat(range.getItems()).hasSize(2);
+        assertTotalsMatchItems(range);
+        assertThat(range.getTotalExpense()).isEqualByComparingTo("12000");
+        assertThat(range.getTotalIncome()).isEqualByComparingTo("8000");
+
+        LedgerDtos.TransactionListResponse combined = search(request -> {
+            request.setFieldKey("qty");
+            request.setFieldMax("1");
+            request.setKeyword("coffee");
+        });
+        assertThat(combined.getItems()).hasSize(1);
+        assertTotalsMatchItems(combined);
+        assertThat(combined.getTotalExpense()).isEqualByComparingTo("4500");
+        assertThat(combined.getTotalIncome()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void totalsFollowFlowTypeAndEmptyResult() {
+        LedgerDtos.TransactionListResponse income = search(request -> request.setFlowType(LedgerFlowType.INCOME));
+        assertTotalsMatchItems(income);
+        assertThat(income.getTotalExpense()).isEqualByComparingTo("0");
+
+        LedgerDtos.TransactionListResponse none = search(request -> request.setKeyword("nothing"));
+        assertThat(none.getItems()).isEmpty();
+        assertThat(none.getTotalIncome()).isEqualByComparingTo("0");
+        assertThat(none.getTotalExpense()).isEqualByComparingTo("0");
+    }
+
+    private LedgerDtos.TransactionListResponse search(Consumer<LedgerDtos.TransactionSearchRequest> customizer) {
+        LedgerDtos.TransactionSearchRequest request = new LedgerDtos.TransactionSearchRequest();
+        request.setStartDate(START);
+        request.setEndDate(END);
+        request.setSize(100);
+        customizer.accept(request);
+        return ledgerService.getTransactions(request);
+    }
+
+    private static void assertTotalsMatchItems(LedgerDtos.TransactionListResponse response) {
+        assertThat(response.getTotal()).isEqualTo(response.getItems().size());
+        assertThat(response.getTotalIncome()).isEqualByComparingTo(sum(response.getItems(), LedgerFlowType.INCOME));
+        assertThat(response.getTotalExpense()).isEqualByComparingTo(sum(response.getItems(), LedgerFlowType.EXPENSE));
+    }
+
+    private static BigDecimal sum(List<LedgerDtos.TransactionResponse> items, LedgerFlowType flowType) {
+        return items.stream()
+                .filter(item -> item.getFlowType() == flowType)
+                .map(LedgerDtos.TransactionResponse::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Long category() {
+        LedgerDtos.CategoryRequest request = new LedgerDtos.CategoryRequest();
+        request.setName("living");
+        request.setFields(List.of(LedgerDtos.CategoryFieldDto.builder()
+                .key("qty")
+                .label("수량")
+                .fieldType(LedgerCategoryField.FieldType.NUMBER)
+                .build()));
+        return ledgerService.createCategory(request).getId();
+    }
+
+    private void transaction(Long categoryId, LedgerFlowType flowType, String amount, String memo, String wallet,
+                             int qty) {
+        LedgerDtos.TransactionRequest request = new LedgerDtos.TransactionRequest();
+        request.setCategoryId(categoryId);
+        request.setFlowType(flowType);
+        request.setTransactionDate(START.plusDays(qty));
+        request.setAmount(new BigDecimal(amount));
+        request.setMemo(memo);
+        request.setWallet(wallet);
+        request.setMetadata(Map.of("qty", qty));
+        ledgerService.createTransaction(request);
+    }
+}
@@ -0,0 +1,144 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.domain.NoteSection;
+import com.foongdoll.server.note.repository.NoteCategoryRepository;
+import com.foongdoll.server.note.repository.NoteRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 노트 자산 GC (user-033)
+ * - 본문/섹션 설명의 인라인 이미지와 리비전에만 남은 이미지도 참조로 보고 남김
+ * - content-addressed 경로가 아닌 예전 파일은 sweep 대상이 아님
+ */
+@DataJpaTest
+@Import(NoteRevisionService.class)
+class NoteAssetSweepTest {
+
+    private static final String BASE_URI = "/uploads/note";
+
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteCategoryRepository categoryRepository;
+    @Autowired
+    private NoteRevisionService revisionService;
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    Path uploadDir;
+
+    private NoteAssetService assetService;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        NoteAssetVariantService variantService = mock(NoteAssetVariantService.class);
+        when(variantService.variantRoot()).thenReturn(uploadDir.resolve(".variants"));
+        // 유예 기간 0 → 수정 시각이 지난 파일은 모두 삭제 후보
+        assetService = new NoteAssetService(noteRepository, revisionService, variantService,
+                uploadDir.toString(), BASE_URI, 5 * 1024 * 1024, 0);
+        category = categoryRepository.save(Category.builder()
+                .ownerId("gc")
+                .code("dev")
+                .label("dev")
+                .sortOrder(0)
+                .build());
+    }
+
+    @Test
+    void keepsInlineSectionAndRevisionReferencesAndLegacyFiles() throws IOException {
+        String inline = asset('a');
+        String absoluteInline = asset('b');
+        String inSection = asset('c');
+        String revisionOnly = asset('d');
+        String cover = asset('e');
+        String orphan = asset('f');
+        Path legacy = write("1700000000000-1f2e3d4c.png");
+
+        Note note = Note.builder()
+                .title("inline")
+                .author("gc")
+                .date(LocalDate.of(2024, 1, 1))
+                .category(category)
+                .coverImageUrl(BASE_URI + "/" + cover)
+                .content("앞 문단\n![image](" + BASE_URI + "/" + inline + ")\n"
+                        + "<img src=\"https://example.com" + BASE_URI + "/" + absoluteInline + "?w=480\">\n")
+                .build();
+        note.getSections().add(NoteSection.builder()
+                .title("section")
+                .description("설명 ![image](" + BASE_URI + "/" + inSection + ")")
+                .build());
+        Long noteId = noteRepository.save(note).getId();
+
+        // 리비전 1(스냅샷)에만 있던 이미지 + 리비전 2(delta)에서 새로 넣은 줄
+        revisionService.recordInitial(noteId, "inline", "old\n![image](" + BASE_URI + "/" + revisionOnly + ")\n");
+        revisionService.recordChange(noteId, "inline", "old\n![image](" + BASE_URI + "/" + revisionOnly + ")\n",
+                "inline", note.getContent());
+        entityManager.flush();
+        entityManager.clear();
+
+        assetService.sweepUnreferencedAssets();
+
+        assertThat(uploadDir.resolve(inline)).exists();
+        assertThat(uploadDir.resolve(absoluteInline)).exists();
+        assertThat(uploadDir.resolve(inSection)).exists();
+        assertThat(uploadDir.resolve(revisionOnly)).exists();
+        assertThat(uploadDir.resolve(cover)).exists();
+        assertThat(legacy).exists();
+        assertThat(uploadDir.resolve(orphan)).doesNotExist();
+    }
+
+    @Test
+    void inlineOnlyImageSurvivesSweep() throws IOException {
+        String inline = asset('7');
+        noteRepository.save(Note.builder()
+                .title("only inline")
+                .author("gc")
+                .date(LocalDate.of(2024, 1, 1))
+                .category(category)
+                .content("![image](" + BASE_URI + "/" + inline + ")")
+                .build());
+        entityManager.flush();
+
+        assetService.sweepUnreferencedAssets();
+
+        assertThat(uploadDir.resolve(inline)).exists();
+    }
+
+    /** ab/cd/<hash>.png 형태로 파일을 만들고 상대 경로 반환 */
+    private String asset(char fill) throws IOException {
+        String hash = String.valueOf(fill).repeat(64);
+        String relative = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png";
+        write(relative);
+        return relative;
+    }
+
+    private Path write(String relative) throws IOException {
+        Path file = uploadDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        return file;
+    }
+}
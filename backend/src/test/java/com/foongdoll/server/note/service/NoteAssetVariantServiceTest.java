@@ -0,0 +1,81 @@
+package com.foongdoll.server.note.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파생본 생성 (user-034)
+ * - 원본보다 큰 폭은 원본이 최종 결과 → 다시 예약하지 않음
+ * - 픽셀 예산을 넘는 원본은 디코딩하지 않고 모든 폭에서 원본 제공
+ */
+class NoteAssetVariantServiceTest {
+
+    private static final String RELATIVE = "ab/cd/" + "ab".repeat(32) + ".png";
+
+    @TempDir
+    Path uploadDir;
+
+    private NoteAssetVariantService variantService;
+
+    @AfterEach
+    void tearDown() {
+        if (variantService != null) variantService.shutdown();
+    }
+
+    @Test
+    void servesOriginalAsFinalForWidthsAboveSource() throws IOException {
+        variantService = new NoteAssetVariantService(uploadDir.toString(), 1, 10, 25_000_000);
+        Path source = png(500, 250);
+
+        variantService.generate(source, RELATIVE);
+
+        assertThat(variantService.find(source, RELATIVE, 160)).hasValueSatisfying(path -> {
+            assertThat(path).isNotEqualTo(source);
+            assertThat(path).exists();
+        });
+        assertThat(variantService.find(source, RELATIVE, 320)).hasValueSatisfying(path -> assertThat(path).isNotEqualTo(source));
+        assertThat(variantService.find(source, RELATIVE, 640)).hasValue(source);
+        assertThat(variantService.find(source, RELATIVE, 1280)).hasValue(source);
+    }
+
+    @Test
+    void skipsDecodingAbovePixelBudget() throws IOException {
+        variantService = new NoteAssetVariantService(uploadDir.toString(), 1, 10, 100 * 100);
+        Path source = png(400, 400);
+
+        variantService.generate(source, RELATIVE);
+
+        for (int width : new int[]{160, 320, 640, 1280}) {
+            assertThat(variantService.find(source, RELATIVE, width)).hasValue(source);
+        }
+        assertThat(uploadDir.resolve(".variants/160/" + RELATIVE)).doesNotExist();
+    }
+
+    @Test
+    void deleteVariantsAlsoRemovesMarkers() throws IOException {
+        variantService = new NoteAssetVariantService(uploadDir.toString(), 1, 10, 25_000_000);
+        Path source = png(200, 100);
+        variantService.generate(source, RELATIVE);
+
+        variantService.deleteVariants(RELATIVE);
+
+        assertThat(uploadDir.resolve(".variants/160/" + RELATIVE)).doesNotExist();
+        assertThat(uploadDir.resolve(".variants/320/" + RELATIVE + ".original")).doesNotExist();
+    }
+
+    private Path png(int width, int height) throws IOException {
+        Path file = uploadDir.resolve(RELATIVE);
+        Files.createDirectories(file.getParent());
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,94 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.support.NoteServiceTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 카테고리 하위 트리 이동 (user-027)
+ * - 후손 카테고리 path/depth와 노트 denorm 경로가 모두 바뀌는지
+ * - 실행 SQL 수가 하위 트리 크기와 무관하게 일정한지
+ */
+class NoteCategoryMoveTest extends NoteServiceTestSupport {
+
+    NoteCategoryMoveTest() {
+        super("mover");
+    }
+
+    @Test
+    void movesNestedSubtreeWithConstantStatementCount() {
+        Category dev = category("dev", null);
+        Category archive = category("archive", null);
+
+        // 작은 하위 트리: solo → solo-child
+        Category solo = category("solo", dev);
+        Category soloChild = category("solo-child", solo);
+        note("solo note", soloChild);
+
+        // 큰 하위 트리: front → leaf-i → deep-i (3단계, 카테고리 21개, 노트 41개)
+        Category front = category("front", dev);
+        note("front note", front);
+        List<Category> leaves = new ArrayList<>();
+        List<Category> deeps = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category leaf = category("leaf-" + i, front);
+            Category deep = category("deep-" + i, leaf);
+            leaves.add(leaf);
+            deeps.add(deep);
+            note("leaf note " + i, leaf);
+            note("deep note " + i, deep);
+            note("deep note b" + i, deep);
+            note("deep note c" + i, deep);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallMove = statementsFor(() -> moveUnder(solo.getId(), archive.getId()));
+        long largeMove = statementsFor(() -> moveUnder(front.getId(), archive.getId()));
+
+        assertThat(largeMove).isEqualTo(smallMove);
+        // 대상 조회 + 새 부모 조회 + 대상 UPDATE + 후손 카테고리 UPDATE + 노트 UPDATE
+        assertThat(largeMove).isLessThanOrEqualTo(5);
+
+        assertThat(reload(soloChild).getPath()).isEqualTo("/archive/solo/solo-child");
+
+        Category movedFront = reload(front);
+        assertThat(movedFront.getPath()).isEqualTo("/archive/front");
+        assertThat(movedFront.getDepth()).isEqualTo(2);
+        for (int i = 0; i < 10; i++) {
+            Category leaf = reload(leaves.get(i));
+            Category deep = reload(deeps.get(i));
+            assertThat(leaf.getPath()).isEqualTo("/archive/front/leaf-" + i);
+            assertThat(leaf.getDepth()).isEqualTo(3);
+            assertThat(deep.getPath()).isEqualTo("/archive/front/leaf-" + i + "/deep-" + i);
+            assertThat(deep.getDepth()).isEqualTo(4);
+        }
+
+        List<Note> notes = noteRepository.findAll();
+        assertThat(notes).hasSize(42);
+        for (Note note : notes) {
+            assertThat(note.getCategoryPath()).startsWith("/archive/");
+            assertThat(note.getCategoryTop()).isEqualTo("archive");
+            assertThat(note.getCategorySub()).isIn("front", "solo");
+            assertThat(note.getCategoryPath()).isEqualTo(reload(note.getCategory()).getPath());
+        }
+    }
+
+    private void moveUnder(Long id, Long parentId) {
+        Dtos.CategoryUpdateRequest request = new Dtos.CategoryUpdateRequest();
+        request.setParentId(parentId);
+        noteService.updateCategory(id, request);
+        entityManager.flush();
+    }
+
+    private Category reload(Category category) {
+        return categoryRepository.findById(category.getId()).orElseThrow();
+    }
+}
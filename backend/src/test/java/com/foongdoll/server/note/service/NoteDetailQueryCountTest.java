@@ -0,0 +1,79 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.domain.NoteSection;
+import com.foongdoll.server.note.domain.Tag;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.TagRepository;
+import com.foongdoll.server.support.NoteServiceTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 노트 상세 조회 SQL 수 (user-031)
+ * - findDetailById(카테고리 + 태그) 1번 + findWithSectionsById(섹션) 1번
+ * - 태그/섹션 개수가 늘어도 추가 SELECT 없음
+ */
+class NoteDetailQueryCountTest extends NoteServiceTestSupport {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    NoteDetailQueryCountTest() {
+        super("reader");
+    }
+
+    @Test
+    void loadsDetailWithTwoSelectsRegardlessOfTagsAndSections() {
+        Category category = category("dev", null);
+        Long small = note("small", category, 1, 1);
+        Long large = note("large", category, 8, 12);
+        entityManager.flush();
+
+        Dtos.NoteDetailResponse smallDetail = detailWithCount(small);
+        long smallStatements = statistics.getPrepareStatementCount();
+        Dtos.NoteDetailResponse largeDetail = detailWithCount(large);
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        // 상세 1단계(카테고리 + 태그 fetch join) + 2단계(섹션)
+        assertThat(smallStatements).isEqualTo(2);
+        assertThat(largeStatements).isEqualTo(2);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        assertThat(smallDetail.getTags()).hasSize(1);
+        assertThat(largeDetail.getTags()).hasSize(8);
+        assertThat(largeDetail.getCategoryCode()).isEqualTo("dev");
+        assertThat(largeDetail.getSections()).hasSize(12);
+        assertThat(largeDetail.getSections().get(0).getTitle()).isEqualTo("section 0");
+        assertThat(largeDetail.getSections().get(11).getTitle()).isEqualTo("section 11");
+    }
+
+    private Dtos.NoteDetailResponse detailWithCount(Long id) {
+        entityManager.clear();
+        statistics.clear();
+        return noteService.getNote(id);
+    }
+
+    private Long note(String title, Category category, int tagCount, int sectionCount) {
+        Note note = newNote(title, category);
+        for (int i = 0; i < tagCount; i++) {
+            String name = title + "-tag-" + i;
+            note.getTags().add(tagRepository.save(Tag.builder()
+                    .ownerId(owner)
+                    .name(name)
+                    .nameKey(Tag.keyOf(name))
+                    .build()));
+        }
+        for (int i = 0; i < sectionCount; i++) {
+            note.getSections().add(NoteSection.builder()
+                    .title("section " + i)
+                    .description("body " + i)
+                    .build());
+        }
+        return noteRepository.save(note).getId();
+    }
+}
@@ -0,0 +1,109 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.NoteCategoryRepository;
+import com.foongdoll.server.note.repository.NoteRepository;
+import com.foongdoll.server.note.repository.NoteRevisionRepository;
+import com.foongdoll.server.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 노트 동시 저장 (user-037)
+ * - 노트 행 잠금으로 직렬화 → 리비전 번호가 겹치지 않고 마지막 리비전이 현재 본문으로 복원됨
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NoteService.class, NoteCategoryCache.class, NoteRevisionService.class})
+class NoteRevisionConcurrencyTest {
+
+    private static final String OWNER = "racer";
+    private static final int WRITERS = 4;
+
+    @Autowired
+    private NoteService noteService;
+    @Autowired
+    private NoteRevisionService revisionService;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteRevisionRepository revisionRepository;
+    @Autowired
+    private NoteCategoryRepository categoryRepository;
+
+    @MockitoBean
+    private TagCountService tagCountService;
+    @MockitoBean
+    private RelatedNoteIndex relatedNoteIndex;
+
+    @AfterEach
+    void tearDown() {
+        TestUsers.logout();
+        revisionRepository.deleteAll();
+        noteRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentSavesGetDistinctRevisions() throws Exception {
+        Long categoryId = categoryRepository.save(Category.builder()
+                .ownerId(OWNER)
+                .code("dev")
+                .label("dev")
+                .sortOrder(0)
+                .build()).getId();
+        TestUsers.login(OWNER);
+        Dtos.NoteCreateRequest create = new Dtos.NoteCreateRequest();
+        create.setTitle("race");
+        create.setContent("line 0\n");
+        create.setCategoryId(categoryId);
+        Long noteId = noteService.createNote(create).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            String content = "line 0\nwriter " + i + "\n";
+            results.add(pool.submit(() -> {
+                TestUsers.login(OWNER);
+                try {
+                    start.await();
+                    Dtos.NoteUpdateRequest update = new Dtos.NoteUpdateRequest();
+                    update.setContent(content);
+                    noteService.updateNote(noteId, update);
+                    return null;
+                } finally {
+                    TestUsers.logout();
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS); // 유니크 위반이면 여기서 예외
+        }
+        pool.shutdown();
+
+        List<Dtos.NoteRevisionSummary> revisions = revisionService.list(noteId);
+        assertThat(revisions).extracting(Dtos.NoteRevisionSummary::getRevision)
+                .containsExactly(5, 4, 3, 2, 1);
+        String current = noteRepository.findById(noteId).orElseThrow().getContent();
+        assertThat(revisionService.reconstruct(noteId, 5).getContent()).isEqualTo(current);
+    }
+}
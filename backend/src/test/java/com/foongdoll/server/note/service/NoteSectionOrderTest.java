@@ -0,0 +1,112 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.support.NoteServiceTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 노트 섹션 순서 (user-032)
+ * - sort_order는 @OrderColumn 하나로만 매핑 → 순서 변경/삭제 후 저장해도 0..n-1 유지
+ * - 빈칸이 있는 예전 행은 NoteSectionOrderNormalizer가 기존 순서대로 다시 매김
+ */
+@Import(NoteSectionOrderNormalizer.class)
+class NoteSectionOrderTest extends NoteServiceTestSupport {
+
+    @Autowired
+    private NoteSectionOrderNormalizer normalizer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    NoteSectionOrderTest() {
+        super("writer");
+    }
+
+    @BeforeEach
+    void setUp() {
+        categoryId = category("dev", null).getId();
+    }
+
+    @Test
+    void reordersAndRemovesSections() {
+        Long id = createNote("a", "b", "c", "d");
+
+        // c, a, b 순서로 바꾸고 d는 제거
+        Dtos.NoteUpdateRequest update = new Dtos.NoteUpdateRequest();
+        update.setSections(List.of(section("a", 1), section("b", 2), section("c", 0)));
+        noteService.updateNote(id, update);
+        entityManager.flush();
+        entityManager.clear();
+
+        Dtos.NoteDetailResponse detail = noteService.getNote(id);
+        assertThat(detail.getSections()).extracting(Dtos.NoteSectionBlock::getTitle).containsExactly("c", "a", "b");
+        assertThat(detail.getSections()).extracting(Dtos.NoteSectionBlock::getSortOrder).containsExactly(0, 1, 2);
+        assertThat(storedOrder(id)).containsExactly("0:c", "1:a", "2:b");
+
+        // 그대로인 섹션 + 꼬리에 추가
+        update.setSections(List.of(section("c", 0), section("a", 1), section("b", 2), section("e", 3)));
+        noteService.updateNote(id, update);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(storedOrder(id)).containsExactly("0:c", "1:a", "2:b", "3:e");
+    }
+
+    @Test
+    void renumbersLegacyRowsWithGaps() {
+        Long id = createNote("a", "b", "c");
+        Long untouched = createNote("x", "y");
+        entityManager.flush();
+        entityManager.clear();
+
+        // 예전 데이터처럼 빈칸이 있는 순서 값: 10, 13, 16
+        jdbcTemplate.update("UPDATE note_sections SET sort_order = sort_order * 3 + 10 WHERE note_id = ?", id);
+
+        assertThat(normalizer.normalize()).isEqualTo(1);
+        assertThat(storedOrder(id)).containsExactly("0:a", "1:b", "2:c");
+        assertThat(storedOrder(untouched)).containsExactly("0:x", "1:y");
+        assertThat(normalizer.normalize()).isZero();
+
+        entityManager.clear();
+        assertThat(noteService.getNote(id).getSections())
+                .extracting(Dtos.NoteSectionBlock::getTitle)
+                .containsExactly("a", "b", "c");
+    }
+
+    private Long createNote(String... titles) {
+        Dtos.NoteCreateRequest request = new Dtos.NoteCreateRequest();
+        request.setTitle("note");
+        request.setContent("content");
+        request.setCategoryId(categoryId);
+        request.setSections(IntStream.range(0, titles.length)
+                .mapToObj(i -> section(titles[i], i))
+                .toList());
+        Long id = noteService.createNote(request).getId();
+        entityManager.flush();
+        return id;
+    }
+
+    private static Dtos.NoteSectionBlock section(String title, int sortOrder) {
+        return Dtos.NoteSectionBlock.builder()
+                .title(title)
+                .description("body " + title)
+                .sortOrder(sortOrder)
+                .build();
+    }
+
+    private List<String> storedOrder(Long noteId) {
+        return jdbcTemplate.queryForList(
+                "SELECT CONCAT(sort_order, ':', section_title) FROM note_sections WHERE note_id = ? ORDER BY sort_order",
+                String.class, noteId);
+    }
+}
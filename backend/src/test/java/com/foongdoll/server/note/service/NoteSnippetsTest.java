@@ -0,0 +1,98 @@
+package com.foongdoll.server.note.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스니펫 스캐너 (user-030)
+ * - 예전 정규식 6단계 파이프라인(stripMarkdown + truncateSnippet)과 같은 결과인지 비교
+ * - 코드블록/인라인 코드(닫히지 않은 경우 포함), 이미지/링크, 마크업 문자, 공백, 길이 제한, null/빈 값
+ */
+class NoteSnippetsTest {
+
+    private static final int MAX = 200;
+
+    private static final List<String> MARKDOWN = List.of(
+            "plain text",
+            "before\n```java\nint x = 1;\n```\nafter",
+            "a ```one``` b ```two``` c",
+            "use `npm i` now and `yarn` later",
+            "intro ```code without close",
+            "```js\nlet a = `x`;",
+            "a `b c",
+            "![alt](http://x/y.png) caption",
+            "see [docs](http://a.example/b) here",
+            "[x] without url and [y](u)",
+            "![x] image without url",
+            "[a [b](c) nested",
+            "broken [link](no close",
+            "# Title\n> quote **bold** _it_ ~~strike~~",
+            "  lots \t of\r\n\n  space\u000B\fhere  ",
+            "### *** ___",
+            "```\nonly code\n```",
+            "x".repeat(MAX),
+            "x".repeat(MAX + 1),
+            "a".repeat(MAX - 1) + " " + "bbbb",
+            "# " + "word ".repeat(80),
+            "```\nskip\n```\n" + "가".repeat(MAX + 50),
+            "   \n\t ",
+            "");
+
+    @Test
+    void markdownMatchesRegexPipeline() {
+        for (String content : MARKDOWN) {
+            assertThat(NoteSnippets.fromMarkdown(content, MAX)).as(content).isEqualTo(legacyFromMarkdown(content));
+        }
+        assertThat(NoteSnippets.fromMarkdown(null, MAX)).isNull();
+    }
+
+    @Test
+    void preferredSnippetMatchesRegexTruncate() {
+        for (String value : List.of("  hi   there ", "# not stripped `kept`", "y".repeat(MAX + 10),
+                "z".repeat(MAX - 2) + "\n\n" + "tail")) {
+            assertThat(NoteSnippets.truncate(value, MAX)).as(value).isEqualTo(legacyTruncate(value));
+        }
+        assertThat(NoteSnippets.truncate(null, MAX)).isNull();
+    }
+
+    @Test
+    void truncatesWithEllipsis() {
+        assertThat(NoteSnippets.fromMarkdown("x".repeat(MAX), MAX)).hasSize(MAX).doesNotEndWith("...");
+        assertThat(NoteSnippets.fromMarkdown("x".repeat(MAX + 1), MAX)).isEqualTo("x".repeat(MAX) + "...");
+        assertThat(NoteSnippets.fromMarkdown("abc def", 4)).isEqualTo("abc...");
+    }
+
+    /* ==================== 예전 구현 (888e558 이전 NoteService.generateSnippet) ==================== */
+
+    private static String legacyFromMarkdown(String content) {
+        if (!StringUtils.hasText(content)) {
+            return null;
+        }
+        String plain = legacyStripMarkdown(content);
+        if (!StringUtils.hasText(plain)) {
+            return null;
+        }
+        return legacyTruncate(plain);
+    }
+
+    private static String legacyTruncate(String value) {
+        String normalized = value.replaceAll("\\s+", " ").trim();
+        if (normalized.length() <= MAX) {
+            return normalized;
+        }
+        return normalized.substring(0, MAX).trim() + "...";
+    }
+
+    private static String legacyStripMarkdown(String source) {
+        String noCodeBlock = source.replaceAll("(?s)```.*?```", " ");
+        String noInlineCode = noCodeBlock.replaceAll("`[^`]*`", " ");
+        String noImage = noInlineCode.replaceAll("!\\[[^\\]]*\\]\\([^)]*\\)", " ");
+        String noLink = noImage.replaceAll("\\[[^\\]]*\\]\\([^)]*\\)", " ");
+        String noMarkup = noLink.replaceAll("[#>*_`~]", " ");
+        return noMarkup.replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,110 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.model.Dtos;
+import com.foongdoll.server.note.repository.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 관련 노트 인덱스 (user-040)
+ * - 요청 스레드에서 적재하지 않음: 준비 전에는 빈 목록 + 적재 예약 한 번
+ * - 적재 중 커밋된 변경은 설치 시 반영
+ * - 노트가 없어진 단어는 사전에서 제거
+ */
+class RelatedNoteIndexTest {
+
+    private static final String OWNER = "owner";
+
+    private NoteRepository noteRepository;
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private RelatedNoteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        noteRepository = mock(NoteRepository.class);
+        when(noteRepository.findIndexBatch(eq(OWNER), eq(0L), eq(100_000), any())).thenReturn(List.of(
+                row(1L, "spring batch", "spring batch chunk reader writer", "/dev"),
+                row(2L, "spring batch retry", "spring batch retry skip chunk", "/dev"),
+                row(3L, "zebra", "zebra stripes savanna", "/zoo")));
+        when(noteRepository.findTagIdsByNoteIds(anyCollection())).thenReturn(List.of());
+        index = new RelatedNoteIndex(noteRepository, 30, scheduled::add);
+    }
+
+    @Test
+    void loadsOffTheRequestPathAndReturnsEmptyUntilReady() {
+        assertThat(index.topK(OWNER, 1L, 5)).isEmpty();
+        assertThat(index.topK(OWNER, 1L, 5)).isEmpty();
+        assertThat(scheduled).hasSize(1);
+        verify(noteRepository, never()).findIndexBatch(any(), anyLong(), eq(100_000), any());
+
+        scheduled.remove(0).run();
+
+        assertThat(index.topK(OWNER, 1L, 5)).extracting(Dtos.RelatedNote::getId).containsExactly(2L);
+        verify(noteRepository).findIndexBatch(eq(OWNER), eq(0L), eq(100_000), any());
+    }
+
+    @Test
+    void appliesChangesCommittedWhileLoading() {
+        index.topK(OWNER, 1L, 5);
+        index.onDeleted(OWNER, 2L);
+        index.onSaved(OWNER, Note.builder()
+                .id(4L)
+                .title("spring chunk")
+                .content("spring batch chunk reader")
+                .categoryPath("/dev")
+                .build());
+
+        scheduled.remove(0).run();
+
+        assertThat(index.topK(OWNER, 1L, 5)).extracting(Dtos.RelatedNote::getId).containsExactly(4L);
+    }
+
+    @Test
+    void dropsTermsWithoutNotes() {
+        index.topK(OWNER, 1L, 5);
+        scheduled.remove(0).run();
+        int before = index.termCount(OWNER);
+
+        index.onDeleted(OWNER, 3L); // zebra / stripes / savanna 는 이 노트에만 있음
+
+        assertThat(index.termCount(OWNER)).isEqualTo(before - 3);
+    }
+
+    private static NoteRepository.IndexRow row(Long id, String title, String content, String path) {
+        return new NoteRepository.IndexRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+
+            @Override
+            public String getCategoryPath() {
+                return path;
+            }
+        };
+    }
+}
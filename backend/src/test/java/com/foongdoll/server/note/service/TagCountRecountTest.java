@@ -0,0 +1,104 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.domain.Tag;
+import com.foongdoll.server.note.domain.TagCount;
+import com.foongdoll.server.note.repository.NoteCategoryRepository;
+import com.foongdoll.server.note.repository.NoteRepository;
+import com.foongdoll.server.note.repository.TagCountRepository;
+import com.foongdoll.server.note.repository.TagRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 태그 카운터 재계산 (user-038)
+ * - 사용자별로 지우고 다시 넣음 → 다른 사용자 행은 그대로
+ * - 노트가 없어진 사용자의 남은 카운터도 정리
+ */
+@DataJpaTest
+@Import(TagCountService.class)
+class TagCountRecountTest {
+
+    @Autowired
+    private TagCountService tagCountService;
+    @Autowired
+    private TagCountRepository tagCountRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteCategoryRepository categoryRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void recountsOneOwnerWithoutTouchingOthers() {
+        Tag java = tag("alice", "java");
+        Tag spring = tag("alice", "spring");
+        Tag bobTag = tag("bob", "java");
+        Tag ghostTag = tag("ghost", "old");
+        note("alice", java, spring);
+        note("alice", java);
+        note("bob", bobTag);
+
+        // 어긋난 카운터: alice는 틀린 값, bob도 틀린 값, ghost는 노트 없이 행만 남음
+        count("alice", java, 7);
+        count("bob", bobTag, 5);
+        count("ghost", ghostTag, 3);
+        entityManager.flush();
+
+        assertThat(tagCountService.recount("alice")).isEqualTo(2);
+        entityManager.clear();
+        assertThat(counts("alice")).containsExactly("java=2", "spring=1");
+        assertThat(counts("bob")).containsExactly("java=5");
+
+        tagCountService.rebuild();
+        entityManager.clear();
+        assertThat(counts("bob")).containsExactly("java=1");
+        assertThat(counts("ghost")).isEmpty();
+        assertThat(tagCountRepository.findCountOwners()).containsExactlyInAnyOrder("alice", "bob");
+    }
+
+    private List<String> counts(String ownerId) {
+        return tagCountRepository.findTopByOwner(ownerId, PageRequest.of(0, 10)).stream()
+                .map(f -> f.getName() + "=" + f.getNoteCount())
+                .toList();
+    }
+
+    private Tag tag(String ownerId, String name) {
+        return tagRepository.save(Tag.builder().ownerId(ownerId).name(name).nameKey(Tag.keyOf(name)).build());
+    }
+
+    private void count(String ownerId, Tag tag, int value) {
+        tagCountRepository.save(TagCount.builder().ownerId(ownerId).tag(tag).noteCount(value).build());
+    }
+
+    private void note(String ownerId, Tag... tags) {
+        Category category = categoryRepository.save(Category.builder()
+                .ownerId(ownerId)
+                .code("c" + System.nanoTime())
+                .label("c")
+                .sortOrder(0)
+                .build());
+        Note note = Note.builder()
+                .title("n")
+                .author(ownerId)
+                .date(LocalDate.of(2024, 1, 1))
+                .category(category)
+                .content("n")
+                .build();
+        note.getTags().addAll(List.of(tags));
+        noteRepository.save(note);
+    }
+}
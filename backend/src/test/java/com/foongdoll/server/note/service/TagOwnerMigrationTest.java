@@ -0,0 +1,121 @@
+package com.foongdoll.server.note.service;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.domain.Tag;
+import com.foongdoll.server.note.repository.NoteCategoryRepository;
+import com.foongdoll.server.note.repository.NoteRepository;
+import com.foongdoll.server.note.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 전역 태그 → 사용자별 태그 마이그레이션 (user-039)
+ * - owner_id/name_key가 빈 문자열인 예전 태그를 작성자별 태그로 옮기고 note_tags를 다시 연결
+ * - 이미 있는 사용자 태그는 재사용, 같은 노트의 중복 연결은 하나로
+ * - 빈 키 행 때문에 못 만든 (owner_id, name_key) 유니크를 다시 추가
+ * - DDL이 트랜잭션을 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TagOwnerMigration.class, TagCountService.class})
+class TagOwnerMigrationTest {
+
+    @Autowired
+    private TagOwnerMigration migration;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteCategoryRepository categoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM note_tags");
+        jdbcTemplate.update("DELETE FROM tag_counts");
+        jdbcTemplate.update("DELETE FROM tags");
+        noteRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void movesLegacyTagsToTheirAuthors() {
+        // ddl-auto가 빈 키 행 때문에 유니크를 못 만든 상태를 재현
+        jdbcTemplate.execute("ALTER TABLE tags DROP CONSTRAINT uk_tag_owner_key");
+        Long aliceNote = note("alice");
+        Long aliceOther = note("alice");
+        Long bobNote = note("bob");
+        Long aliceJava = tagRepository.save(Tag.builder().ownerId("alice").name("JAVA").nameKey("java").build()).getId();
+        Long legacyJava = legacyTag("Java");
+        Long legacyLower = legacyTag("java ");
+        Long legacyUnused = legacyTag("unused");
+        link(aliceNote, legacyJava);
+        link(aliceNote, aliceJava);
+        link(aliceOther, legacyLower);
+        link(bobNote, legacyJava);
+
+        assertThat(migration.migrate()).isEqualTo(3);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tags WHERE owner_id = '' OR name_key = ''", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM tags WHERE id IN (?, ?, ?)", Long.class,
+                legacyJava, legacyLower, legacyUnused)).isEmpty();
+        assertThat(tagIds(aliceNote)).containsExactly(aliceJava);
+        assertThat(tagIds(aliceOther)).containsExactly(aliceJava);
+        Tag bobJava = tagRepository.findByOwnerIdAndNameKeyIn("bob", List.of("java")).get(0);
+        assertThat(bobJava.getName()).isEqualTo("Java");
+        assertThat(tagIds(bobNote)).containsExactly(bobJava.getId());
+
+        // (owner_id, name_key) 유니크가 다시 있음
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO tags (owner_id, name, name_key) VALUES ('bob', 'JAVA', 'java')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(migration.migrate()).isZero();
+    }
+
+    private Long note(String author) {
+        Category category = categoryRepository.save(Category.builder()
+                .ownerId(author)
+                .code("c" + System.nanoTime())
+                .label("c")
+                .sortOrder(0)
+                .build());
+        return noteRepository.save(Note.builder()
+                .title("n")
+                .author(author)
+                .date(LocalDate.of(2024, 1, 1))
+                .category(category)
+                .content("n")
+                .build()).getId();
+    }
+
+    private Long legacyTag(String name) {
+        jdbcTemplate.update("INSERT INTO tags (owner_id, name, name_key) VALUES ('', ?, '')", name);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM tags", Long.class);
+    }
+
+    private void link(Long noteId, Long tagId) {
+        jdbcTemplate.update("INSERT INTO note_tags (note_id, tag_id) VALUES (?, ?)", noteId, tagId);
+    }
+
+    private List<Long> tagIds(Long noteId) {
+        return jdbcTemplate.queryForList("SELECT tag_id FROM note_tags WHERE note_id = ?", Long.class, noteId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.foongdoll.server.support;
+
+import com.foongdoll.server.note.domain.Category;
+import com.foongdoll.server.note.domain.Note;
+import com.foongdoll.server.note.repository.NoteCategoryRepository;
+import com.foongdoll.server.note.repository.NoteRepository;
+import com.foongdoll.server.note.service.NoteCategoryCache;
+import com.foongdoll.server.note.service.NoteRevisionService;
+import com.foongdoll.server.note.service.NoteService;
+import com.foongdoll.server.note.service.RelatedNoteIndex;
+import com.foongdoll.server.note.service.TagCountService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+
+/**
+ * NoteService JPA 테스트 공통 설정
+ * - 실제 NoteService + NoteCategoryCache, 리비전/태그 카운트/관련 노트 인덱스는 mock
+ * - 각 테스트 전 owner로 로그인, 끝나면 로그아웃
+ * - Hibernate 통계를 켜 두어 statementsFor로 실행 SQL 수를 셀 수 있음
+ * - 다른 빈이 필요하면 하위 클래스에 @Import 추가
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({NoteService.class, NoteCategoryCache.class})
+public abstract class NoteServiceTestSupport {
+
+    protected final String owner;
+
+    @Autowired
+    protected NoteService noteService;
+    @Autowired
+    protected NoteCategoryRepository categoryRepository;
+    @Autowired
+    protected NoteRepository noteRepository;
+    @Autowired
+    protected EntityManager entityManager;
+
+    @MockitoBean
+    protected NoteRevisionService revisionService;
+    @MockitoBean
+    protected TagCountService tagCountService;
+    @MockitoBean
+    protected RelatedNoteIndex relatedNoteIndex;
+
+    protected Statistics statistics;
+
+    protected NoteServiceTestSupport(String owner) {
+        this.owner = owner;
+    }
+
+    @BeforeEach
+    void loginOwner() {
+        TestUsers.login(owner);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void logoutOwner() {
+        TestUsers.logout();
+    }
+
+    /** owner의 카테고리 (code = label, parent가 null이면 최상위) */
+    protected Category category(String code, Category parent) {
+        return categoryRepository.save(Category.builder()
+                .ownerId(owner)
+                .code(code)
+                .label(code)
+                .parent(parent)
+                .sortOrder(0)
+                .build());
+    }
+
+    /** 저장 전 노트 (content = title), 태그/섹션을 붙인 뒤 저장할 때 */
+    protected Note newNote(String title, Category category) {
+        return Note.builder()
+                .title(title)
+                .author(owner)
+                .date(LocalDate.of(2024, 1, 1))
+                .category(category)
+                .content(title)
+                .build();
+    }
+
+    protected Long note(String title, Category category) {
+        return noteRepository.save(newNote(title, category)).getId();
+    }
+
+    /** 영속성 컨텍스트를 비운 상태에서 action이 실행한 SQL 수 */
+    protected long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+}
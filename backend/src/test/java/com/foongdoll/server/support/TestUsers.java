@@ -0,0 +1,34 @@
+package com.foongdoll.server.support;
+
+import com.foongdoll.server.security.model.AuthenticatedUser;
+import com.foongdoll.server.user.domain.Role;
+import com.foongdoll.server.user.domain.User;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 테스트용 로그인 사용자
+ * - 서비스는 SecurityUtils.getAuthenticatedUser().getNickname()을 소유자로 쓰므로 nickname만 의미 있음
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static void login(String nickname) {
+        User user = User.builder()
+                .id(1L)
+                .userId(nickname)
+                .password("")
+                .name(nickname)
+                .role(Role.builder().name("ROLE_USER").build())
+                .build();
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    public static void logout() {
+        SecurityContextHolder.clearContext();
+    }
+}
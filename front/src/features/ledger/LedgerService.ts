@@ -4,10 +4,12 @@ import type {
   LedgerCategory,
   LedgerOverviewParams,
   LedgerOverviewResponse,
+  LedgerPeriodSummary,
   LedgerTransaction,
   LedgerTransactionFilters,
   LedgerTransactionListResponse,
   LedgerTransactionPayload,
+  LedgerTrendParams,
 } from "../../shared/types/LedgerType";
 
 const responseBody = <T>(res: ApiResponse<T>): T => res?.data ?? ({} as T);
@@ -50,6 +52,10 @@ const LedgerService = {
       keyword: filters.keyword?.trim() || undefined,
       categoryId: filters.categoryId ?? undefined,
       flowType: filters.flowType && filters.flowType !== "ALL" ? filters.flowType : undefined,
+      fieldKey: filters.fieldKey?.trim() || undefined,
+      fieldMin: filters.fieldMin?.trim() || undefined,
+      fieldMax: filters.fieldMax?.trim() || undefined,
+      fieldValue: filters.fieldValue?.trim() || undefined,
     };
     const { data } = await api.get<ApiResponse<LedgerTransactionListResponse>>("/ledger/transactions", { params });
     return responseBody(data);
@@ -79,6 +85,18 @@ const LedgerService = {
     });
     return responseBody(data);
   },
+
+  async fetchTrend(params: LedgerTrendParams) {
+    const { data } = await api.get<ApiResponse<LedgerPeriodSummary[]>>("/ledger/trend", {
+      params: {
+        startDate: params.startDate,
+        endDate: params.endDate,
+        categoryId: params.categoryId ?? undefined,
+        unit: params.unit ?? "MONTH",
+      },
+    });
+    return responseBody(data);
+  },
 };
 
 export default LedgerService;
@@ -8,6 +8,7 @@ import type {
   NoteListParams,
   NoteListResponse,
   NotePayload,
+  TagCloudItem,
 } from "../../shared/types/NoteType";
 
 const responseBody = <T>(res: ApiResponse<T>): T => (res?.data ?? ({} as T));
@@ -39,6 +40,13 @@ const NoteService = {
     await api.delete<ApiResponse<void>>(`/note/${id}`);
   },
 
+  async fetchTagCloud(limit = 50) {
+    const { data } = await api.get<ApiResponse<TagCloudItem[]>>("/note/tags", {
+      params: { limit },
+    });
+    return responseBody(data);
+  },
+
   async fetchCategories() {
     const { data } = await api.get<ApiResponse<CategoryNode[]>>("/note/categories");
     return responseBody(data);
@@ -50,10 +58,9 @@ const NoteService = {
   },
 
   async uploadAsset(file: File) {
-    const formData = new FormData();
-    formData.append("file", file);
-    const { data } = await api.post<ApiResponse<AssetUploadResponse>>("/note/assets", formData, {
-      headers: { "Content-Type": "multipart/form-data" },
+    // 파일을 본문 그대로 전송 (서버가 스트리밍으로 형식/크기 검사)
+    const { data } = await api.post<ApiResponse<AssetUploadResponse>>("/note/assets", file, {
+      headers: { "Content-Type": file.type || "application/octet-stream" },
     });
     return responseBody(data);
   },
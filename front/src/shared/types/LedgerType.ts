@@ -2,7 +2,13 @@ export type LedgerFlowType = "INCOME" | "EXPENSE";
 
 export type LedgerCategoryFieldType = "TEXT" | "NUMBER" | "DECIMAL" | "DATE" | "SELECT";
 
-export type LedgerTransactionSort = "DATE_DESC" | "DATE_ASC" | "AMOUNT_DESC" | "AMOUNT_ASC";
+export type LedgerTransactionSort =
+  | "DATE_DESC"
+  | "DATE_ASC"
+  | "AMOUNT_DESC"
+  | "AMOUNT_ASC"
+  | "FIELD_DESC"
+  | "FIELD_ASC";
 
 export interface LedgerCategoryField {
   key: string;
@@ -56,6 +62,14 @@ export interface LedgerDailySummary {
   expense: number;
 }
 
+export type LedgerTrendUnit = "DAY" | "MONTH" | "YEAR";
+
+export interface LedgerPeriodSummary {
+  periodStart: string;
+  income: number;
+  expense: number;
+}
+
 export interface LedgerOverviewResponse {
   totalIncome: number;
   totalExpense: number;
@@ -74,6 +88,10 @@ export interface LedgerTransactionFilters {
   page: number;
   size: number;
   sort: LedgerTransactionSort;
+  fieldKey?: string;
+  fieldMin?: string;
+  fieldMax?: string;
+  fieldValue?: string;
 }
 
 export interface LedgerTransactionPayload {
@@ -91,3 +109,7 @@ export interface LedgerOverviewParams {
   endDate?: string;
   categoryId?: number | null;
 }
+
+export interface LedgerTrendParams extends LedgerOverviewParams {
+  unit?: LedgerTrendUnit;
+}
@@ -24,6 +24,14 @@ export interface NoteDetail extends NoteSummary {
   categoryPath?: string | null;
   tags: string[];
   sections: NoteSectionBlock[];
+  related?: RelatedNote[];
+}
+
+export interface RelatedNote {
+  id: number;
+  title: string;
+  categoryPath?: string | null;
+  score: number;
 }
 
 export interface NoteListResponse {
@@ -41,6 +49,13 @@ export interface NoteListParams {
   q?: string;
   categoryCode?: string;
   categoryPath?: string;
+  tags?: string; // 쉼표 구분
+  tagMode?: "and" | "or";
+}
+
+export interface TagCloudItem {
+  name: string;
+  noteCount: number;
 }
 
 export interface NotePayload {
@@ -65,6 +80,8 @@ export interface CategoryNode {
   depth: number;
   sortOrder: number;
   parentId?: number | null;
+  noteCount?: number | null;
+  subtreeNoteCount?: number | null;
   children: CategoryNode[];
 }
 